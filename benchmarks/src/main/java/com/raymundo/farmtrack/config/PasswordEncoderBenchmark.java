@@ -0,0 +1,61 @@
+package com.raymundo.farmtrack.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the password encoder configured in {@link AppConfig} at several BCrypt strengths.
+ * <p>
+ * Checking a password is the cost of a login, and encoding a password is the cost of a
+ * registration or of re-encoding a hash after the strength is changed. Both are measured as
+ * throughput on a single thread, so the scores are logins and encodings per second per core.
+ * Every step of the strength doubles the cost.
+ *
+ * @author RaymundoZ
+ */
+@State(value = Scope.Benchmark)
+@BenchmarkMode(value = Mode.Throughput)
+@OutputTimeUnit(value = TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(value = 1)
+@Fork(value = 1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "password";
+
+    @Param(value = {"4", "6", "8", "10", "12"})
+    private int strength;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new AppConfig().passwordEncoder(strength);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,78 @@
+package com.raymundo.farmtrack.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks of {@link BaseEntity#equals(Object)} and {@link BaseEntity#hashCode()} in hash maps.
+ * <p>
+ * The hash code of an entity is the hash code of its class, so all entities of one type fall
+ * into the same bucket of a hash map. The reports are grouped by their product entities and,
+ * for comparison, by the ids of the products, which shows how the cost of the grouping grows
+ * with the number of distinct products.
+ *
+ * @author RaymundoZ
+ */
+@State(value = Scope.Benchmark)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class BaseEntityBenchmark {
+
+    @Param(value = {"10", "100", "1000"})
+    private int products;
+
+    @Param(value = {"10000"})
+    private int reports;
+
+    private List<ReportEntity> rows;
+
+    @Setup
+    public void setUp() {
+        List<ProductEntity> productEntities = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setId(UUID.randomUUID());
+            product.setName("product" + i);
+            productEntities.add(product);
+        }
+        rows = new ArrayList<>(reports);
+        for (int i = 0; i < reports; i++) {
+            ReportEntity report = new ReportEntity();
+            report.setId(UUID.randomUUID());
+            report.setAmount(i);
+            report.setProduct(productEntities.get(i % products));
+            rows.add(report);
+        }
+    }
+
+    @Benchmark
+    public Map<ProductEntity, Integer> groupByEntity() {
+        return rows.stream()
+                .collect(Collectors.groupingBy(ReportEntity::getProduct, Collectors.summingInt(ReportEntity::getAmount)));
+    }
+
+    @Benchmark
+    public Map<UUID, Integer> groupById() {
+        return rows.stream()
+                .collect(Collectors.groupingBy(report -> report.getProduct().getId(), Collectors.summingInt(ReportEntity::getAmount)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.raymundo.farmtrack.mapper;
+
+import com.raymundo.farmtrack.dto.HarvestRateDto;
+import com.raymundo.farmtrack.dto.ReportDto;
+import com.raymundo.farmtrack.dto.UserInfoDto;
+import com.raymundo.farmtrack.entity.HarvestRateEntity;
+import com.raymundo.farmtrack.entity.ProductEntity;
+import com.raymundo.farmtrack.entity.ReportEntity;
+import com.raymundo.farmtrack.entity.UserEntity;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the MapStruct mappers.
+ * <p>
+ * The mappers are the implementations generated by MapStruct, created without the Spring
+ * context. Passwords are encoded outside of the mappers, so mapping a user to an entity does
+ * not include hashing the password.
+ *
+ * @author RaymundoZ
+ */
+@State(value = Scope.Benchmark)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class MapperBenchmark {
+
+    private final ReportMapper reportMapper = new ReportMapperImpl();
+    private final HarvestRateMapper harvestRateMapper = new HarvestRateMapperImpl();
+    private final UserInfoMapper userInfoMapper = new UserInfoMapperImpl();
+
+    private ReportDto reportDto;
+    private ReportEntity reportEntity;
+    private HarvestRateDto harvestRateDto;
+    private HarvestRateEntity harvestRateEntity;
+    private UserInfoDto userInfoDto;
+    private UserEntity userEntity;
+
+    @Setup
+    public void setUp() {
+        ProductEntity product = new ProductEntity();
+        product.setId(UUID.randomUUID());
+        product.setName("milk");
+        product.setAmount(100);
+        product.setMeasure(Measure.LITER);
+
+        userEntity = new UserEntity();
+        userEntity.setId(UUID.randomUUID());
+        userEntity.setEmail("worker@farm.ru");
+        userEntity.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7xNz1hRk6Vh8VbJZ6B0p5cO");
+        userEntity.setName("Ivan");
+        userEntity.setSurname("Ivanov");
+        userEntity.setPatronymic("Ivanovich");
+        userEntity.setRole(Role.USER);
+        userEntity.setIsEnabled(true);
+
+        reportDto = new ReportDto("milk", 10, null, null, null);
+        reportEntity = new ReportEntity();
+        reportEntity.setId(UUID.randomUUID());
+        reportEntity.setAmount(10);
+        reportEntity.setProduct(product);
+        reportEntity.setUser(userEntity);
+        reportEntity.setRateLeft(5);
+
+        harvestRateDto = new HarvestRateDto(20, LocalDate.now(), "milk");
+        harvestRateEntity = new HarvestRateEntity();
+        harvestRateEntity.setId(UUID.randomUUID());
+        harvestRateEntity.setRate(20);
+        harvestRateEntity.setDate(LocalDate.now());
+        harvestRateEntity.setProduct(product);
+
+        userInfoDto = new UserInfoDto("worker@farm.ru", "password", "Ivan", "Ivanov", "Ivanovich",
+                Role.USER.toString(), null, null);
+    }
+
+    @Benchmark
+    public ReportEntity reportToEntity() {
+        return reportMapper.toEntity(reportDto);
+    }
+
+    @Benchmark
+    public ReportDto reportToDto() {
+        return reportMapper.toDto(reportEntity);
+    }
+
+    @Benchmark
+    public HarvestRateEntity harvestRateToEntity() {
+        return harvestRateMapper.toEntity(harvestRateDto);
+    }
+
+    @Benchmark
+    public HarvestRateDto harvestRateToDto() {
+        return harvestRateMapper.toDto(harvestRateEntity);
+    }
+
+    @Benchmark
+    public UserInfoDto userInfoToDto() {
+        return userInfoMapper.toDto(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity userInfoToEntity() {
+        return userInfoMapper.toEntity(userInfoDto);
+    }
+}
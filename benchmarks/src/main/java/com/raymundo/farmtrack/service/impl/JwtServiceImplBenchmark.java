@@ -0,0 +1,82 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.entity.UserEntity;
+import com.raymundo.farmtrack.security.JwtClaims;
+import com.raymundo.farmtrack.util.enumeration.TokenType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link JwtServiceImpl}.
+ * <p>
+ * Token generation is measured together with signing. Token parsing is measured twice: with
+ * a service whose cache of verified tokens is disabled, so every call verifies the signature,
+ * and with a service that already has the token in its cache, which is the usual case for
+ * repeated requests of the same user. The uncached benchmark cycles through many different
+ * tokens, because the disabled cache may still hold the last token for a short time.
+ *
+ * @author RaymundoZ
+ */
+@State(value = Scope.Benchmark)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class JwtServiceImplBenchmark {
+
+    private static final String SECRET_KEY = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final int TOKENS = 1024;
+
+    private JwtServiceImpl uncachedService;
+    private JwtServiceImpl cachedService;
+    private UserEntity user;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        uncachedService = new JwtServiceImpl(SECRET_KEY, List.of(), 0);
+        cachedService = new JwtServiceImpl(SECRET_KEY, List.of(), 10000);
+        user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        token = cachedService.generateToken(user, TokenType.ACCESS);
+        cachedService.parseToken(token);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            UserEntity tokenUser = new UserEntity();
+            tokenUser.setId(UUID.randomUUID());
+            tokens[i] = uncachedService.generateToken(tokenUser, TokenType.ACCESS);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedService.generateToken(user, TokenType.ACCESS);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseToken() {
+        next = (next + 1) % TOKENS;
+        return uncachedService.parseToken(tokens[next]);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseCachedToken() {
+        return cachedService.parseToken(token);
+    }
+}
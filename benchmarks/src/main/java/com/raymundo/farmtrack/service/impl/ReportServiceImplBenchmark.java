@@ -0,0 +1,171 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.FarmTrackApplication;
+import com.raymundo.farmtrack.dto.StatisticsDto;
+import com.raymundo.farmtrack.service.ReportService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link ReportServiceImpl}.
+ * <p>
+ * The statistics are measured end to end, through the service of the application running
+ * against an embedded PostgreSQL. The measured user has the same reports in every run, three
+ * a day for a year, while the reports of the other workers grow from ten thousand to a million,
+ * so a flat score shows that the statistics of a user do not depend on the reports of everybody
+ * else. The general statistics aggregate the reports of all the workers and group them by user,
+ * so their score shows the cost of the query and of the grouping as the reports grow. The
+ * statistics are requested for the last thirty days.
+ *
+ * @author RaymundoZ
+ */
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class ReportServiceImplBenchmark {
+
+    @Benchmark
+    public List<StatisticsDto> getGeneralStatistics(Database database) {
+        return database.reportService.getGeneralStatistics(database.period);
+    }
+
+    @Benchmark
+    public StatisticsDto getStatisticsByUser(Database database) {
+        return database.reportService.getStatisticsByUser(database.period, Database.USER_EMAIL);
+    }
+
+    @State(value = Scope.Benchmark)
+    public static class Database {
+
+        private static final String USER_EMAIL = "user@farm.ru";
+        private static final String SEED_AUDITOR = "benchmark";
+        private static final int WORKERS = 1000;
+        private static final int PRODUCTS = 20;
+        private static final int DAYS = 365;
+        private static final int USER_REPORTS_PER_DAY = 3;
+        private static final int PERIOD_DAYS = 30;
+
+        @Param(value = {"10000", "100000", "1000000"})
+        private int reports;
+
+        private EmbeddedPostgres postgres;
+        private ConfigurableApplicationContext context;
+        private ReportService reportService;
+        private StatisticsDto period;
+
+        @Setup(value = Level.Trial)
+        public void setUp() throws IOException {
+            postgres = EmbeddedPostgres.builder().start();
+            context = new SpringApplicationBuilder(FarmTrackApplication.class)
+                    .profiles("prod")
+                    .properties("logging.level.root=WARN")
+                    .initializers(initializer -> initializer.getEnvironment().getPropertySources()
+                            .addFirst(new MapPropertySource("benchmark", applicationProperties(postgres))))
+                    .run();
+            seed(new JdbcTemplate(context.getBean(DataSource.class)));
+            reportService = context.getBean(ReportService.class);
+            period = new StatisticsDto(LocalDate.now().minusDays(PERIOD_DAYS - 1), LocalDate.now(), null, null);
+        }
+
+        @TearDown(value = Level.Trial)
+        public void tearDown() throws IOException {
+            context.close();
+            postgres.close();
+        }
+
+        /**
+         * Seeds the measured user, the other workers, the products and the reports.
+         * <p>
+         * The reports of the other workers are spread randomly over the workers, the products
+         * and the days of the last year. The daily reports are derived from the reports, the
+         * same way the application maintains them.
+         *
+         * @param jdbcTemplate The template to run the statements with.
+         */
+        private void seed(JdbcTemplate jdbcTemplate) {
+            jdbcTemplate.update("insert into _user " +
+                            "(id, created_by, created_date, last_modified_date, name, surname, patronymic, email, password, role, is_enabled) " +
+                            "select gen_random_uuid(), ?, current_date, current_date, 'Name', 'Surname', 'Patronymic', " +
+                            "case when i = 0 then ? else 'worker' || i || '@farm.ru' end, 'password', 'USER', true " +
+                            "from generate_series(0, ?) i",
+                    SEED_AUDITOR, USER_EMAIL, WORKERS);
+            jdbcTemplate.update("insert into _product " +
+                            "(id, created_by, created_date, last_modified_date, name, amount, measure) " +
+                            "select gen_random_uuid(), ?, current_date, current_date, 'product' || i, 0, 'KILOGRAM' " +
+                            "from generate_series(1, ?) i",
+                    SEED_AUDITOR, PRODUCTS);
+            jdbcTemplate.update("insert into _report " +
+                            "(id, created_by, created_date, last_modified_date, amount, product_id, user_id) " +
+                            "select gen_random_uuid(), u.email, d::date, d::date, 1 + floor(random() * 20)::int, " +
+                            "p.ids[1 + floor(random() * p.count)::int], u.id " +
+                            "from _user u " +
+                            "cross join generate_series(current_date - ?, current_date, interval '1 day') d " +
+                            "cross join generate_series(1, ?) r " +
+                            "cross join (select array_agg(id) ids, count(*) count from _product) p " +
+                            "where u.email = ?",
+                    DAYS - 1, USER_REPORTS_PER_DAY, USER_EMAIL);
+            jdbcTemplate.update("insert into _report " +
+                            "(id, created_by, created_date, last_modified_date, amount, product_id, user_id) " +
+                            "select gen_random_uuid(), ?, r.date, r.date, 1 + floor(random() * 20)::int, " +
+                            "p.ids[1 + floor(random() * p.count)::int], w.ids[1 + floor(random() * w.count)::int] " +
+                            "from (select current_date - floor(random() * ?)::int date from generate_series(1, ?)) r " +
+                            "cross join (select array_agg(id) ids, count(*) count from _product) p " +
+                            "cross join (select array_agg(id) ids, count(*) count from _user where email like 'worker%') w",
+                    SEED_AUDITOR, DAYS, reports);
+            jdbcTemplate.update("insert into _daily_report " +
+                            "(id, created_by, created_date, last_modified_date, date, amount, report_count, product_id, user_id) " +
+                            "select gen_random_uuid(), ?, current_date, current_date, created_date, sum(amount), count(*), product_id, user_id " +
+                            "from _report " +
+                            "group by created_date, product_id, user_id",
+                    SEED_AUDITOR);
+            jdbcTemplate.execute("analyze");
+        }
+
+        private static Map<String, Object> applicationProperties(EmbeddedPostgres postgres) {
+            return Map.ofEntries(
+                    Map.entry("server.port", 0),
+                    Map.entry("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres")),
+                    Map.entry("spring.datasource.username", "postgres"),
+                    Map.entry("spring.datasource.password", ""),
+                    Map.entry("LIQUIBASE_ADMIN_NAME", "Admin"),
+                    Map.entry("LIQUIBASE_ADMIN_SURNAME", "Admin"),
+                    Map.entry("LIQUIBASE_ADMIN_PATRONYMIC", "Admin"),
+                    Map.entry("LIQUIBASE_ADMIN_EMAIL", "admin@farm.ru"),
+                    Map.entry("LIQUIBASE_ADMIN_PASSWORD", "admin"),
+                    Map.entry("MAIL_HOST", "localhost"),
+                    Map.entry("MAIL_PORT", 25),
+                    Map.entry("MAIL_USERNAME", ""),
+                    Map.entry("MAIL_PASSWORD", ""),
+                    Map.entry("STARTTLS_ENABLE", false),
+                    Map.entry("ADMIN_EMAIL", "admin@farm.ru"),
+                    Map.entry("SECRET_KEY", UUID.randomUUID() + "-" + UUID.randomUUID())
+            );
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.raymundo.farmtrack.loadtest;
+
+import com.raymundo.farmtrack.service.ReportService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Seeds the database of a load test.
+ * <p>
+ * The data is generated by PostgreSQL itself, so even months of reports are seeded in
+ * seconds. Workers are named {@code worker<n>@farm.ru} and products {@code product<n>}, all
+ * workers share the same password, and every product has a harvest rate for every seeded day.
+ * The daily report aggregates, the product amounts and today's harvest progress are derived
+ * from the seeded reports, the same way the application maintains them.
+ *
+ * @author RaymundoZ
+ */
+public class DataSeeder {
+
+    public static final String SEED_AUDITOR = "loadtest";
+    public static final String WORKER_PASSWORD = "password";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ReportService reportService;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ReportService reportService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.reportService = reportService;
+    }
+
+    public static String workerEmail(int worker) {
+        return "worker" + worker + "@farm.ru";
+    }
+
+    public static String productName(int product) {
+        return "product" + product;
+    }
+
+    /**
+     * Seeds users, products, harvest rates and reports.
+     *
+     * @param options The options of the run defining the volumes of the data.
+     */
+    public void seed(LoadTestOptions options) {
+        jdbcTemplate.update("insert into _user " +
+                        "(id, created_by, created_date, last_modified_date, name, surname, patronymic, email, password, role, is_enabled) " +
+                        "select gen_random_uuid(), ?, current_date, current_date, 'Name' || i, 'Surname' || i, 'Patronymic' || i, " +
+                        "'worker' || i || '@farm.ru', ?, 'USER', true " +
+                        "from generate_series(1, ?) i",
+                SEED_AUDITOR, passwordEncoder.encode(WORKER_PASSWORD), options.users());
+        jdbcTemplate.update("insert into _product " +
+                        "(id, created_by, created_date, last_modified_date, name, amount, measure) " +
+                        "select gen_random_uuid(), ?, current_date, current_date, 'product' || i, 0, " +
+                        "(array['KILOGRAM', 'LITER', 'PIECE'])[1 + i % 3] " +
+                        "from generate_series(1, ?) i",
+                SEED_AUDITOR, options.products());
+        jdbcTemplate.update("insert into _harvest_rate " +
+                        "(id, created_by, created_date, last_modified_date, rate, date, product_id) " +
+                        "select gen_random_uuid(), ?, d::date, d::date, 50 + floor(random() * 100)::int, d::date, p.id " +
+                        "from _product p " +
+                        "cross join generate_series(current_date - ?, current_date, interval '1 day') d",
+                SEED_AUDITOR, options.days() - 1);
+        jdbcTemplate.update("insert into _report " +
+                        "(id, created_by, created_date, last_modified_date, amount, product_id, user_id) " +
+                        "select gen_random_uuid(), u.email, d::date, d::date, 1 + floor(random() * 20)::int, " +
+                        "p.ids[1 + floor(random() * p.count)::int], u.id " +
+                        "from _user u " +
+                        "cross join generate_series(current_date - ?, current_date, interval '1 day') d " +
+                        "cross join generate_series(1, ?) r " +
+                        "cross join (select array_agg(id) ids, count(*) count from _product) p " +
+                        "where u.created_by = ?",
+                options.days() - 1, options.reportsPerDay(), SEED_AUDITOR);
+        jdbcTemplate.update("insert into _daily_report " +
+                        "(id, created_by, created_date, last_modified_date, date, amount, report_count, product_id, user_id) " +
+                        "select gen_random_uuid(), ?, current_date, current_date, created_date, sum(amount), count(*), product_id, user_id " +
+                        "from _report " +
+                        "group by created_date, product_id, user_id",
+                SEED_AUDITOR);
+        jdbcTemplate.update("update _product p " +
+                "set amount = (select coalesce(sum(r.amount), 0) from _report r where r.product_id = p.id)");
+        jdbcTemplate.execute("analyze");
+        reportService.reconcileHarvestProgress();
+    }
+}
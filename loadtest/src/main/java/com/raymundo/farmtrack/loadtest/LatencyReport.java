@@ -0,0 +1,109 @@
+package com.raymundo.farmtrack.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raymundo.farmtrack.loadtest.TrafficDriver.Endpoint;
+import com.raymundo.farmtrack.loadtest.TrafficDriver.EndpointStats;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Report of a load test run.
+ * <p>
+ * The report prints a table with the throughput and latency percentiles of every endpoint
+ * and writes the same numbers to {@code summary.json} in the output directory, together with
+ * the full latency distribution of every endpoint in the HdrHistogram percentile format,
+ * which can be plotted and compared between runs. All latencies are in milliseconds.
+ *
+ * @author RaymundoZ
+ */
+public class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestOptions options;
+    private final Map<String, Object> environment;
+    private final List<EndpointSummary> endpoints;
+    private final Map<Endpoint, EndpointStats> stats;
+
+    public LatencyReport(LoadTestOptions options, Map<String, Object> environment, Map<Endpoint, EndpointStats> stats) {
+        this.options = options;
+        this.environment = environment;
+        this.stats = stats;
+        double seconds = options.duration().toMillis() / 1000.0;
+        this.endpoints = stats.entrySet().stream()
+                .map(entry -> EndpointSummary.of(entry.getKey(), entry.getValue(), seconds))
+                .toList();
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-20s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (EndpointSummary endpoint : endpoints)
+            out.printf(Locale.ROOT, "%-20s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.errors(), endpoint.throughput(),
+                    endpoint.p50(), endpoint.p90(), endpoint.p99(), endpoint.p999(), endpoint.max());
+    }
+
+    /**
+     * Writes the summary and the latency distributions to the output directory.
+     *
+     * @throws IOException Thrown when the files cannot be written.
+     */
+    public void write() throws IOException {
+        Files.createDirectories(options.output());
+        Map<String, Object> runOptions = new LinkedHashMap<>();
+        runOptions.put("clients", options.clients());
+        runOptions.put("admins", options.admins());
+        runOptions.put("warmup", options.warmup().toString());
+        runOptions.put("duration", options.duration().toString());
+        runOptions.put("users", options.users());
+        runOptions.put("products", options.products());
+        runOptions.put("days", options.days());
+        runOptions.put("reports_per_day", options.reportsPerDay());
+        runOptions.put("stat_days", options.statDays());
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("options", runOptions);
+        summary.put("environment", environment);
+        summary.put("endpoints", endpoints);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(options.output().resolve("summary.json").toFile(), summary);
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Path file = options.output().resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Throughput and latency percentiles of an endpoint.
+     */
+    public record EndpointSummary(String endpoint, long requests, long errors, double throughput,
+                                  double mean, double p50, double p90, double p99, double p999, double max) {
+
+        private static EndpointSummary of(Endpoint endpoint, EndpointStats stats, double seconds) {
+            Histogram histogram = stats.histogram();
+            long requests = histogram.getTotalCount();
+            return new EndpointSummary(
+                    endpoint.getTitle(),
+                    requests,
+                    stats.errors().get(),
+                    requests / seconds,
+                    histogram.getMean() / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI
+            );
+        }
+    }
+}
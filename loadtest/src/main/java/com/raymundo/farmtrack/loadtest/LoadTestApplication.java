@@ -0,0 +1,111 @@
+package com.raymundo.farmtrack.loadtest;
+
+import com.raymundo.farmtrack.FarmTrackApplication;
+import com.raymundo.farmtrack.service.ReportService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entry point of the load test.
+ * <p>
+ * This class starts an embedded PostgreSQL, boots the application against it on a random
+ * port with the {@code prod} profile, seeds the database, drives the traffic and reports the
+ * latencies. The command line arguments configure the run (see {@link LoadTestOptions}) and
+ * are passed to the application as well, so the same run can be repeated with different
+ * application settings, for example with virtual threads or another connection pool size.
+ *
+ * @author RaymundoZ
+ */
+public class LoadTestApplication {
+
+    private static final String ADMIN_EMAIL = "admin@farm.ru";
+    private static final String ADMIN_PASSWORD = "admin";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.from(args);
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(FarmTrackApplication.class)
+                     .profiles("prod")
+                     .properties("logging.level.root=WARN")
+                     .initializers(initializer -> addProperties(initializer.getEnvironment(), postgres))
+                     .run(args)) {
+            System.out.println("Seeding the database...");
+            new DataSeeder(
+                    new JdbcTemplate(context.getBean(DataSource.class)),
+                    context.getBean(PasswordEncoder.class),
+                    context.getBean(ReportService.class)
+            ).seed(options);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("Running %d clients for %s after a warmup of %s...%n",
+                    options.clients(), options.duration(), options.warmup());
+            Map<TrafficDriver.Endpoint, TrafficDriver.EndpointStats> stats =
+                    new TrafficDriver(options, port, ADMIN_EMAIL, ADMIN_PASSWORD).run();
+            LatencyReport report = new LatencyReport(options, environment(context.getEnvironment()), stats);
+            report.print(System.out);
+            report.write();
+            System.out.println("Results are written to " + options.output().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Adds the properties of the load test to the application environment.
+     * <p>
+     * The properties take precedence over the configuration files of the application, but not
+     * over the command line arguments, so every one of them can still be overridden.
+     *
+     * @param environment The environment of the application.
+     * @param postgres    The embedded PostgreSQL to connect the application to.
+     */
+    private static void addProperties(ConfigurableEnvironment environment, EmbeddedPostgres postgres) {
+        MutablePropertySources propertySources = environment.getPropertySources();
+        MapPropertySource propertySource = new MapPropertySource("loadtest", applicationProperties(postgres));
+        if (propertySources.contains(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME))
+            propertySources.addAfter(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME, propertySource);
+        else
+            propertySources.addFirst(propertySource);
+    }
+
+    private static Map<String, Object> applicationProperties(EmbeddedPostgres postgres) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "");
+        properties.put("LIQUIBASE_ADMIN_NAME", "Admin");
+        properties.put("LIQUIBASE_ADMIN_SURNAME", "Admin");
+        properties.put("LIQUIBASE_ADMIN_PATRONYMIC", "Admin");
+        properties.put("LIQUIBASE_ADMIN_EMAIL", ADMIN_EMAIL);
+        properties.put("LIQUIBASE_ADMIN_PASSWORD", ADMIN_PASSWORD);
+        properties.put("MAIL_HOST", "localhost");
+        properties.put("MAIL_PORT", 25);
+        properties.put("MAIL_USERNAME", "");
+        properties.put("MAIL_PASSWORD", "");
+        properties.put("STARTTLS_ENABLE", false);
+        properties.put("ADMIN_EMAIL", ADMIN_EMAIL);
+        properties.put("SECRET_KEY", UUID.randomUUID() + "-" + UUID.randomUUID());
+        return properties;
+    }
+
+    private static Map<String, Object> environment(Environment environment) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("java_version", System.getProperty("java.version"));
+        properties.put("processors", Runtime.getRuntime().availableProcessors());
+        properties.put("virtual_threads", environment.getProperty("spring.threads.virtual.enabled", "false"));
+        properties.put("db_pool_size", environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"));
+        return properties;
+    }
+}
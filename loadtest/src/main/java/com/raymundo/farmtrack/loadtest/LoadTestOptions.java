@@ -0,0 +1,76 @@
+package com.raymundo.farmtrack.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Options of a load test run.
+ * <p>
+ * The options are read from {@code --name=value} command line arguments. The same arguments
+ * are passed to the application, so any of its properties, for example
+ * {@code --spring.threads.virtual.enabled=true}, can be set for the run as well.
+ *
+ * @param clients       The number of concurrent clients.
+ * @param admins        How many of the clients are administrators.
+ * @param warmup        The time to run the traffic before latencies are recorded.
+ * @param duration      The time to record latencies for.
+ * @param users         The number of seeded workers.
+ * @param products      The number of seeded products.
+ * @param days          The number of days of seeded reports and harvest rates, ending today.
+ * @param reportsPerDay The number of seeded reports of every worker per day.
+ * @param statDays      The length of the period requested from the statistics endpoint, in days.
+ * @param output        The directory to write the results to.
+ * @author RaymundoZ
+ */
+public record LoadTestOptions(
+        int clients,
+        int admins,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int products,
+        int days,
+        int reportsPerDay,
+        int statDays,
+        Path output
+) {
+
+    /**
+     * Reads the options from command line arguments.
+     * <p>
+     * Options that are not given keep their default values.
+     *
+     * @param args The command line arguments.
+     * @return The options of the run.
+     * @throws IllegalArgumentException Thrown when the options are not consistent.
+     */
+    public static LoadTestOptions from(String[] args) {
+        SimpleCommandLinePropertySource source = new SimpleCommandLinePropertySource(args);
+        LoadTestOptions options = new LoadTestOptions(
+                get(source, "clients", Integer::valueOf, 50),
+                get(source, "admins", Integer::valueOf, 5),
+                get(source, "warmup", DurationStyle::detectAndParse, Duration.ofSeconds(15)),
+                get(source, "duration", DurationStyle::detectAndParse, Duration.ofSeconds(60)),
+                get(source, "users", Integer::valueOf, 500),
+                get(source, "products", Integer::valueOf, 50),
+                get(source, "days", Integer::valueOf, 180),
+                get(source, "reports-per-day", Integer::valueOf, 3),
+                get(source, "stat-days", Integer::valueOf, 30),
+                get(source, "output", Path::of, Path.of("loadtest-results"))
+        );
+        if (options.clients() < 1 || options.admins() < 0 || options.admins() > options.clients())
+            throw new IllegalArgumentException("At least one client is required, and admins cannot outnumber clients");
+        if (options.users() < options.clients() - options.admins() || options.products() < 1 || options.days() < 1)
+            throw new IllegalArgumentException("Every worker client needs its own user, and at least one product and one day must be seeded");
+        return options;
+    }
+
+    private static <T> T get(SimpleCommandLinePropertySource source, String name, Function<String, T> parser, T defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : parser.apply(value);
+    }
+}
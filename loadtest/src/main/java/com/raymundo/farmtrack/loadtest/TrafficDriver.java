@@ -0,0 +1,231 @@
+package com.raymundo.farmtrack.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drives mixed read and write traffic against a running application.
+ * <p>
+ * Every client is a thread that logs in and then sends requests one after another without
+ * pauses, so the throughput is limited by the application only. Worker clients mostly submit
+ * reports, administrator clients read harvest rates and statistics, and both occasionally
+ * log in again. Latencies of successful requests are recorded per endpoint in histograms
+ * after the warmup is over, and failed requests are counted separately.
+ *
+ * @author RaymundoZ
+ */
+public class TrafficDriver {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int LOGIN_PERCENT = 5;
+    private static final int HARVEST_PERCENT = 50;
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final String adminEmail;
+    private final String adminPassword;
+    private final String statisticsBody;
+    private final HttpClient httpClient;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private volatile long recordFrom = Long.MAX_VALUE;
+    private volatile long until;
+
+    public TrafficDriver(LoadTestOptions options, int port, String adminEmail, String adminPassword) {
+        this.options = options;
+        this.baseUrl = "http://localhost:" + port;
+        this.adminEmail = adminEmail;
+        this.adminPassword = adminPassword;
+        LocalDate today = LocalDate.now();
+        this.statisticsBody = "{\"start_date\":\"%s\",\"end_date\":\"%s\"}".formatted(
+                today.minusDays(options.statDays() - 1L).format(DATE_FORMAT), today.format(DATE_FORMAT));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        for (Endpoint endpoint : Endpoint.values())
+            stats.put(endpoint, new EndpointStats());
+    }
+
+    /**
+     * Runs the traffic for the warmup and the measured duration.
+     * <p>
+     * All clients log in before the warmup starts, so the initial logins do not count
+     * towards the run.
+     *
+     * @return The statistics of every endpoint collected during the measured duration.
+     * @throws InterruptedException Thrown when the current thread is interrupted while waiting for the clients.
+     */
+    public Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        CountDownLatch loggedIn = new CountDownLatch(options.clients());
+        CountDownLatch started = new CountDownLatch(1);
+        List<Thread> clients = new ArrayList<>(options.clients());
+        for (int i = 0; i < options.clients(); i++) {
+            Session session = i < options.admins()
+                    ? new Session(adminEmail, adminPassword, true)
+                    : new Session(DataSeeder.workerEmail(i - options.admins() + 1), DataSeeder.WORKER_PASSWORD, false);
+            Thread client = new Thread(() -> runClient(session, loggedIn, started), "client-" + i);
+            clients.add(client);
+            client.start();
+        }
+        loggedIn.await();
+        recordFrom = System.nanoTime() + options.warmup().toNanos();
+        until = recordFrom + options.duration().toNanos();
+        started.countDown();
+        for (Thread client : clients)
+            client.join();
+        return stats;
+    }
+
+    private void runClient(Session session, CountDownLatch loggedIn, CountDownLatch started) {
+        send(session, Endpoint.LOGIN);
+        loggedIn.countDown();
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        while (System.nanoTime() < until) {
+            int percent = ThreadLocalRandom.current().nextInt(100);
+            Endpoint endpoint;
+            if (percent < LOGIN_PERCENT)
+                endpoint = Endpoint.LOGIN;
+            else if (!session.admin())
+                endpoint = Endpoint.REPORT;
+            else
+                endpoint = percent < LOGIN_PERCENT + HARVEST_PERCENT ? Endpoint.HARVEST : Endpoint.STATISTICS;
+            send(session, endpoint);
+        }
+    }
+
+    private void send(Session session, Endpoint endpoint) {
+        HttpRequest request = buildRequest(session, endpoint);
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            session.updateCookies(response);
+            success = response.statusCode() / 100 == 2;
+            if (response.statusCode() == 401 && endpoint != Endpoint.LOGIN)
+                send(session, Endpoint.LOGIN);
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long end = System.nanoTime();
+        if (start < recordFrom)
+            return;
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (success)
+            endpointStats.histogram().recordValue(Math.max((end - start) / 1000, 1));
+        else
+            endpointStats.errors().incrementAndGet();
+    }
+
+    private HttpRequest buildRequest(Session session, Endpoint endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        String cookies = session.cookieHeader();
+        if (!cookies.isEmpty())
+            builder.header("Cookie", cookies);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case LOGIN -> builder.uri(URI.create(baseUrl + "/auth/login"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"%s\",\"password\":\"%s\"}"
+                            .formatted(session.email(), session.password())))
+                    .build();
+            case REPORT -> builder.uri(URI.create(baseUrl + "/report"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"product\":\"%s\",\"amount\":%d}"
+                            .formatted(DataSeeder.productName(random.nextInt(options.products()) + 1), random.nextInt(1, 6))))
+                    .build();
+            case HARVEST -> builder.uri(URI.create(baseUrl + "/harvest"))
+                    .GET()
+                    .build();
+            case STATISTICS -> builder.uri(URI.create(baseUrl + "/report/stat"))
+                    .method("GET", HttpRequest.BodyPublishers.ofString(statisticsBody))
+                    .build();
+        };
+    }
+
+    /**
+     * Endpoints exercised by the load test.
+     */
+    public enum Endpoint {
+        LOGIN("POST /auth/login"),
+        REPORT("POST /report"),
+        HARVEST("GET /harvest"),
+        STATISTICS("GET /report/stat");
+
+        private final String title;
+
+        Endpoint(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    /**
+     * Latencies of successful requests in microseconds and the number of failed requests of an endpoint.
+     */
+    public record EndpointStats(Histogram histogram, AtomicLong errors) {
+
+        private EndpointStats() {
+            this(new ConcurrentHistogram(3), new AtomicLong());
+        }
+    }
+
+    /**
+     * Credentials and cookies of a client.
+     * <p>
+     * Cookies are kept by the client itself, so all clients can share one HTTP client.
+     * Only a single thread uses a session.
+     */
+    private record Session(String email, String password, boolean admin, Map<String, String> cookies) {
+
+        private Session(String email, String password, boolean admin) {
+            this(email, password, admin, new HashMap<>());
+        }
+
+        private void updateCookies(HttpResponse<?> response) {
+            for (String header : response.headers().allValues("Set-Cookie"))
+                for (HttpCookie cookie : HttpCookie.parse(header)) {
+                    if (cookie.getValue().isEmpty() || cookie.getMaxAge() == 0)
+                        cookies.remove(cookie.getName());
+                    else
+                        cookies.put(cookie.getName(), cookie.getValue());
+                }
+        }
+
+        private String cookieHeader() {
+            return cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; "));
+        }
+    }
+}
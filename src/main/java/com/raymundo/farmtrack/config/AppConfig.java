@@ -1,7 +1,18 @@
 package com.raymundo.farmtrack.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.raymundo.farmtrack.entity.UserEntity;
 import com.raymundo.farmtrack.repository.UserRepository;
 import com.raymundo.farmtrack.security.JwtAuthProvider;
+import com.raymundo.farmtrack.security.TunableBCryptPasswordEncoder;
+import com.raymundo.farmtrack.util.cache.CacheInvalidator;
+import com.raymundo.farmtrack.util.metrics.StatementMetricsFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -12,21 +23,37 @@ import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 
+import java.time.Duration;
+import java.util.Map;
+
+import static com.raymundo.farmtrack.util.Constants.HARVEST_RATES_CACHE;
+import static com.raymundo.farmtrack.util.Constants.PRODUCTS_CACHE;
+import static com.raymundo.farmtrack.util.Constants.USERS_CACHE;
+
 @Configuration
 @EnableJpaAuditing
 @EnableScheduling
+@EnableCaching
 public class AppConfig {
 
+    private static final long HARVEST_RATES_CACHE_SIZE = 7;
+    private static final String BCRYPT_ENCODING_ID = "bcrypt";
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value(value = "${password-encoder.bcrypt-strength}") int bcryptStrength) {
+        PasswordEncoder bcrypt = new TunableBCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(BCRYPT_ENCODING_ID,
+                Map.of(BCRYPT_ENCODING_ID, bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 
     @Bean
@@ -41,16 +68,30 @@ public class AppConfig {
     }
 
     @Bean
-    public AuthenticationProvider emailPasswordAuthProvider(UserRepository userRepository) {
-        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(passwordEncoder());
+    public UserDetailsPasswordService userDetailsPasswordService(UserRepository userRepository,
+                                                                 CacheInvalidator cacheInvalidator) {
+        return (user, newPassword) -> {
+            UserEntity userEntity = (UserEntity) user;
+            userEntity.setPassword(newPassword);
+            UserEntity saved = userRepository.save(userEntity);
+            cacheInvalidator.publish(USERS_CACHE, saved.getId());
+            return saved;
+        };
+    }
+
+    @Bean
+    public AuthenticationProvider emailPasswordAuthProvider(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                                            CacheInvalidator cacheInvalidator) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
         provider.setUserDetailsService(userDetailsService(userRepository));
+        provider.setUserDetailsPasswordService(userDetailsPasswordService(userRepository, cacheInvalidator));
         return provider;
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(JwtAuthProvider jwtAuthProvider, UserRepository userRepository) {
-        return new ProviderManager(jwtAuthProvider, emailPasswordAuthProvider(userRepository));
+    public AuthenticationManager authenticationManager(JwtAuthProvider jwtAuthProvider, UserRepository userRepository,
+                                                       PasswordEncoder passwordEncoder, CacheInvalidator cacheInvalidator) {
+        return new ProviderManager(jwtAuthProvider, emailPasswordAuthProvider(userRepository, passwordEncoder, cacheInvalidator));
     }
 
     @Bean
@@ -62,4 +103,34 @@ public class AppConfig {
     public WebAuthenticationDetailsSource webAuthenticationDetailsSource() {
         return new WebAuthenticationDetailsSource();
     }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(StatementMetricsFilter statementMetricsFilter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementMetricsFilter);
+    }
+
+    @Bean
+    public CacheManager cacheManager(@Value(value = "${cache.users.expire-after-write}") Duration usersExpireAfterWrite,
+                                     @Value(value = "${cache.users.maximum-size}") long usersMaximumSize,
+                                     @Value(value = "${cache.products.expire-after-write}") Duration productsExpireAfterWrite,
+                                     @Value(value = "${cache.products.maximum-size}") long productsMaximumSize,
+                                     @Value(value = "${cache.harvest-rates.expire-after-write}") Duration harvestRatesExpireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USERS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(usersExpireAfterWrite)
+                .maximumSize(usersMaximumSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PRODUCTS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(productsExpireAfterWrite)
+                .maximumSize(productsMaximumSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(HARVEST_RATES_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(harvestRatesExpireAfterWrite)
+                .maximumSize(HARVEST_RATES_CACHE_SIZE)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
 }
@@ -5,6 +5,7 @@ import com.raymundo.farmtrack.dto.basic.ErrorDto;
 import com.raymundo.farmtrack.security.JwtFilter;
 import com.raymundo.farmtrack.util.enumeration.Role;
 import com.raymundo.farmtrack.util.exception.AuthException;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -32,11 +33,13 @@ public class SecurityConfig {
     };
 
     private static final String[] USER_ENDPOINTS = new String[]{
-            "/report"
+            "/report",
+            "/report/batch"
     };
 
     private static final String[] ADMIN_ENDPOINTS = new String[]{
             "/auth/register",
+            "/auth/register/batch",
             "/auth/block/*",
             "/auth/unblock/*",
             "/product",
@@ -47,7 +50,10 @@ public class SecurityConfig {
             "/grade/*",
             "/harvest",
             "/harvest/date/*",
-            "/harvest/product/*"
+            "/harvest/product/*",
+            "/actuator/metrics",
+            "/actuator/metrics/*",
+            "/actuator/prometheus"
     };
 
     @Bean
@@ -59,7 +65,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers(PERMIT_ALL_ENDPOINTS).permitAll()
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                .requestMatchers(PERMIT_ALL_ENDPOINTS).permitAll()
                                 .requestMatchers(ADMIN_ENDPOINTS).hasAuthority(Role.ADMIN.toString())
                                 .requestMatchers(USER_ENDPOINTS).hasAnyAuthority(Role.USER.toString(), Role.ADMIN.toString())
                 )
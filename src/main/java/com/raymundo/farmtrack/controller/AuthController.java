@@ -1,24 +1,34 @@
 package com.raymundo.farmtrack.controller;
 
 import com.raymundo.farmtrack.dto.AuthDto;
+import com.raymundo.farmtrack.dto.UserBatchDto;
 import com.raymundo.farmtrack.dto.UserInfoDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
 import com.raymundo.farmtrack.dto.basic.SuccessDto;
 import com.raymundo.farmtrack.service.AuthService;
+import com.raymundo.farmtrack.util.validation.UniquenessCheck;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller class that handles authentication and user-related operations.
  * <p>
- * This class provides REST endpoints for user authentication, registration, blocking, and unblocking.
+ * This class provides REST endpoints for user authentication, registration, bulk registration, blocking,
+ * and unblocking.
  * It utilizes the {@link AuthService} to perform these operations.
  *
  * @author RaymundoZ
@@ -65,21 +75,51 @@ public class AuthController {
      * <p>
      * This method handles user registration by accepting a POST request with a JSON body
      * containing user information in the form of {@link UserInfoDto}. The user information
-     * is validated using the {@link Valid} annotation. If registration succeeds, the method
-     * returns a {@link ResponseEntity} with a success message and the registered user information
-     * in {@link UserInfoDto} format, along with an HTTP status code 201 (CREATED).
+     * is validated using the {@link Validated} annotation, including the uniqueness of the email
+     * checked by the {@link UniquenessCheck} group. The request is processed asynchronously,
+     * so the request thread is released while the password is encoded. If registration succeeds,
+     * the method returns a {@link ResponseEntity} with a success message and the registered user
+     * information in {@link UserInfoDto} format, along with an HTTP status code 201 (CREATED).
      *
      * @param userInfoDto A {@link UserInfoDto} object containing user information for registration.
-     * @return A {@link ResponseEntity} containing a success message and the registered user information upon successful registration.
+     * @return A future of a {@link ResponseEntity} containing a success message and the registered user information upon successful registration.
      */
     @Operation(summary = "Endpoint for user registration")
     @PostMapping(value = "/register")
-    public ResponseEntity<SuccessDto<UserInfoDto>> registerUser(@Valid @RequestBody UserInfoDto userInfoDto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(new SuccessDto<>(
-                HttpStatus.CREATED.value(),
-                "Registration succeed",
-                authService.registerUser(userInfoDto)
-        ));
+    public CompletableFuture<ResponseEntity<SuccessDto<UserInfoDto>>> registerUser(@Validated(value = {Default.class, UniquenessCheck.class})
+                                                                                   @RequestBody UserInfoDto userInfoDto) {
+        return authService.registerUser(userInfoDto).thenApply(user ->
+                ResponseEntity.status(HttpStatus.CREATED).body(new SuccessDto<>(
+                        HttpStatus.CREATED.value(),
+                        "Registration succeed",
+                        user
+                )));
+    }
+
+    /**
+     * Endpoint for registering several users at once.
+     * <p>
+     * This method handles the registration of a batch of users by accepting a POST request with a body
+     * containing the list of users in the form of {@link UserBatchDto}, either as a JSON array or as CSV with a
+     * header line naming the fields of the users. The size of the batch is validated using the {@link Valid}
+     * annotation, while every user is validated on its own by the {@link AuthService}, so an invalid user
+     * does not reject the whole batch. The request is processed asynchronously while the passwords are
+     * encoded, and the method returns a {@link ResponseEntity} with a success message and a list of
+     * {@link BatchItemDto} objects holding either the registered user or the reason it was rejected for
+     * every user of the batch, along with an HTTP status code 201 (CREATED).
+     *
+     * @param userBatchDto A {@link UserBatchDto} object containing the list of users.
+     * @return A future of a {@link ResponseEntity} containing a success message and the result of each user of the batch.
+     */
+    @Operation(summary = "Endpoint for registering several users at once")
+    @PostMapping(value = "/register/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public CompletableFuture<ResponseEntity<SuccessDto<List<BatchItemDto<UserInfoDto>>>>> registerUsers(@Valid @RequestBody UserBatchDto userBatchDto) {
+        return authService.registerUsers(userBatchDto.users()).thenApply(users ->
+                ResponseEntity.status(HttpStatus.CREATED).body(new SuccessDto<>(
+                        HttpStatus.CREATED.value(),
+                        "Users batch successfully processed",
+                        users
+                )));
     }
 
     /**
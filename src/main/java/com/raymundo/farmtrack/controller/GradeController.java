@@ -1,6 +1,7 @@
 package com.raymundo.farmtrack.controller;
 
 import com.raymundo.farmtrack.dto.GradeDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 import com.raymundo.farmtrack.dto.basic.SuccessDto;
 import com.raymundo.farmtrack.service.GradeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static com.raymundo.farmtrack.util.Constants.DEFAULT_PAGE_SIZE;
+
 /**
  * Controller class that handles grade-related operations.
  * <p>
@@ -57,20 +60,29 @@ public class GradeController {
     /**
      * Endpoint for retrieving all grades.
      * <p>
-     * This method handles the retrieval of all grades by accepting a GET request.
-     * It retrieves all grades using the {@link GradeService} and returns a {@link ResponseEntity}
-     * with a success message and a list of all grades in {@link GradeDto} format, along with
+     * This method handles the retrieval of all grades by accepting a GET request. The grades are
+     * returned page by page: the first page is returned when no cursor is provided, and every page
+     * except the last one is followed by a cursor that is passed as a query parameter to receive the
+     * next page. It retrieves the page using the {@link GradeService} and returns a {@link ResponseEntity}
+     * with a success message and the page of grades in {@link GradeDto} format, along with
      * an HTTP status code 200 (OK).
      *
-     * @return A {@link ResponseEntity} containing a success message and a list of all grades upon successful retrieval.
+     * @param cursor The cursor of the page returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of grades on the page.
+     * @return A {@link ResponseEntity} containing a success message and a page of grades upon successful retrieval.
      */
     @Operation(summary = "Endpoint for retrieving all grades")
     @GetMapping
-    public ResponseEntity<SuccessDto<List<GradeDto>>> getGrades() {
+    public ResponseEntity<SuccessDto<PageDto<GradeDto>>> getGrades(@RequestParam(required = false)
+                                                                   @Parameter(description = "The cursor of the page returned with the previous page")
+                                                                   String cursor,
+                                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                                   @Parameter(description = "The maximum number of items on the page")
+                                                                   int size) {
         return ResponseEntity.ok(new SuccessDto<>(
                 HttpStatus.OK.value(),
                 "All grades successfully received",
-                gradeService.getGrades()
+                gradeService.getGrades(cursor, size)
         ));
     }
 
@@ -1,6 +1,7 @@
 package com.raymundo.farmtrack.controller;
 
 import com.raymundo.farmtrack.dto.HarvestRateDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 import com.raymundo.farmtrack.dto.basic.SuccessDto;
 import com.raymundo.farmtrack.service.HarvestRateService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
 
+import static com.raymundo.farmtrack.util.Constants.DEFAULT_PAGE_SIZE;
+
 /**
  * Controller class that handles harvest rate-related operations.
  * <p>
@@ -58,20 +61,29 @@ public class HarvestRateController {
     /**
      * Endpoint for retrieving all harvest rates.
      * <p>
-     * This method handles the retrieval of all harvest rates by accepting a GET request.
-     * It retrieves all harvest rates using the {@link HarvestRateService} and returns a {@link ResponseEntity}
-     * with a success message and a list of all harvest rates in {@link HarvestRateDto} format, along with
+     * This method handles the retrieval of all harvest rates by accepting a GET request. The harvest rates are
+     * returned page by page: the first page is returned when no cursor is provided, and every page
+     * except the last one is followed by a cursor that is passed as a query parameter to receive the
+     * next page. It retrieves the page using the {@link HarvestRateService} and returns a {@link ResponseEntity}
+     * with a success message and the page of harvest rates in {@link HarvestRateDto} format, along with
      * an HTTP status code 200 (OK).
      *
-     * @return A {@link ResponseEntity} containing a success message and a list of all harvest rates upon successful retrieval.
+     * @param cursor The cursor of the page returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of harvest rates on the page.
+     * @return A {@link ResponseEntity} containing a success message and a page of harvest rates upon successful retrieval.
      */
     @Operation(summary = "Endpoint for retrieving all harvest rates")
     @GetMapping
-    public ResponseEntity<SuccessDto<List<HarvestRateDto>>> getAllHarvestRates() {
+    public ResponseEntity<SuccessDto<PageDto<HarvestRateDto>>> getAllHarvestRates(@RequestParam(required = false)
+                                                                                  @Parameter(description = "The cursor of the page returned with the previous page")
+                                                                                  String cursor,
+                                                                                  @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                                                  @Parameter(description = "The maximum number of items on the page")
+                                                                                  int size) {
         return ResponseEntity.ok(new SuccessDto<>(
                 HttpStatus.OK.value(),
                 "All harvest rates successfully received",
-                harvestRateService.getAllHarvestRates()
+                harvestRateService.getAllHarvestRates(cursor, size)
         ));
     }
 
@@ -1,6 +1,7 @@
 package com.raymundo.farmtrack.controller;
 
 import com.raymundo.farmtrack.dto.ProductDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 import com.raymundo.farmtrack.dto.basic.SuccessDto;
 import com.raymundo.farmtrack.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,7 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import static com.raymundo.farmtrack.util.Constants.DEFAULT_PAGE_SIZE;
 
 /**
  * Controller class that handles product-related operations.
@@ -80,20 +81,29 @@ public class ProductController {
     /**
      * Endpoint for retrieving all products.
      * <p>
-     * This method handles the retrieval of all products by accepting a GET request.
-     * It retrieves all products using the {@link ProductService} and returns a {@link ResponseEntity}
-     * with a success message and a list of all products in {@link ProductDto} format, along with
+     * This method handles the retrieval of all products by accepting a GET request. The products are
+     * returned page by page: the first page is returned when no cursor is provided, and every page
+     * except the last one is followed by a cursor that is passed as a query parameter to receive the
+     * next page. It retrieves the page using the {@link ProductService} and returns a {@link ResponseEntity}
+     * with a success message and the page of products in {@link ProductDto} format, along with
      * an HTTP status code 200 (OK).
      *
-     * @return A {@link ResponseEntity} containing a success message and a list of all products upon successful retrieval.
+     * @param cursor The cursor of the page returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of products on the page.
+     * @return A {@link ResponseEntity} containing a success message and a page of products upon successful retrieval.
      */
     @Operation(summary = "Endpoint for retrieving all products")
     @GetMapping
-    public ResponseEntity<SuccessDto<List<ProductDto>>> getAllProducts() {
+    public ResponseEntity<SuccessDto<PageDto<ProductDto>>> getAllProducts(@RequestParam(required = false)
+                                                                          @Parameter(description = "The cursor of the page returned with the previous page")
+                                                                          String cursor,
+                                                                          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                                          @Parameter(description = "The maximum number of items on the page")
+                                                                          int size) {
         return ResponseEntity.ok(new SuccessDto<>(
                 HttpStatus.OK.value(),
                 "Product list received successfully",
-                productService.getAllProducts()
+                productService.getAllProducts(cursor, size)
         ));
     }
 }
@@ -1,17 +1,24 @@
 package com.raymundo.farmtrack.controller;
 
+import com.raymundo.farmtrack.dto.ReportBatchDto;
 import com.raymundo.farmtrack.dto.ReportDto;
 import com.raymundo.farmtrack.dto.StatisticsDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
 import com.raymundo.farmtrack.dto.basic.SuccessDto;
 import com.raymundo.farmtrack.service.ReportService;
+import com.raymundo.farmtrack.util.enumeration.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -55,6 +62,30 @@ public class ReportController {
                 ));
     }
 
+    /**
+     * Endpoint for creating several reports at once.
+     * <p>
+     * This method handles the creation of a batch of reports by accepting a POST request with a JSON body
+     * containing the list of reports in the form of {@link ReportBatchDto}. The reports are validated using
+     * the {@link Valid} annotation. The reports are created by the {@link ReportService} within a single
+     * transaction, and the method returns a {@link ResponseEntity} with a success message and a list of
+     * {@link BatchItemDto} objects holding either the created report or the reason it was rejected for every
+     * report of the batch, along with an HTTP status code 201 (CREATED).
+     *
+     * @param reportBatchDto A {@link ReportBatchDto} object containing the list of reports.
+     * @return A {@link ResponseEntity} containing a success message and the result of each report of the batch.
+     */
+    @Operation(summary = "Endpoint for creating several reports at once")
+    @PostMapping(value = "/batch")
+    public ResponseEntity<SuccessDto<List<BatchItemDto<ReportDto>>>> createReports(@Valid @RequestBody ReportBatchDto reportBatchDto) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new SuccessDto<>(
+                        HttpStatus.CREATED.value(),
+                        "Reports batch successfully processed",
+                        reportService.createReports(reportBatchDto.reports())
+                ));
+    }
+
     /**
      * Endpoint for retrieving general statistics.
      * <p>
@@ -77,6 +108,36 @@ public class ReportController {
         ));
     }
 
+    /**
+     * Endpoint for exporting general statistics.
+     * <p>
+     * This method handles the export of general statistics by accepting a GET request with a query parameter
+     * specifying the {@link ExportFormat}. It accepts a {@link StatisticsDto} object containing criteria for
+     * filtering data, which is validated using the {@link Valid} annotation. Unlike the retrieval of general
+     * statistics, the statistics are not collected in memory: they are written to the response by the
+     * {@link ReportService} row by row as they are read from the database, so arbitrarily large date ranges
+     * can be exported. The method returns a {@link ResponseEntity} with the statistics as an attachment in the
+     * requested format, along with an HTTP status code 200 (OK).
+     *
+     * @param statisticsDto A {@link StatisticsDto} object containing criteria for exporting general statistics.
+     * @param format        The format the statistics are exported in.
+     * @return A {@link ResponseEntity} streaming the general statistics in the requested format.
+     */
+    @Operation(summary = "Endpoint for exporting general statistics")
+    @GetMapping(value = "/stat/export")
+    public ResponseEntity<StreamingResponseBody> exportGeneralStatistics(@Valid @RequestBody StatisticsDto statisticsDto,
+                                                                         @RequestParam(defaultValue = "NDJSON")
+                                                                         @Parameter(description = "The format the statistics are exported in")
+                                                                         ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statistics." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(outputStream -> reportService.exportGeneralStatistics(statisticsDto, format, outputStream));
+    }
+
     /**
      * Endpoint for retrieving general statistics by user.
      * <p>
@@ -3,12 +3,15 @@ package com.raymundo.farmtrack.controller.advice;
 import com.raymundo.farmtrack.dto.basic.ErrorDto;
 import com.raymundo.farmtrack.util.exception.GradeException;
 import com.raymundo.farmtrack.util.exception.NotFoundException;
+import com.raymundo.farmtrack.util.exception.PageException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalTime;
 import java.util.Iterator;
@@ -37,6 +40,27 @@ public class ValidationAdvice {
         ));
     }
 
+    /**
+     * Exception handler for handling MethodArgumentTypeMismatchException.
+     * <p>
+     * This method handles MethodArgumentTypeMismatchException by returning a {@link ResponseEntity} with
+     * an error message when a request parameter or path variable cannot be converted to the required type,
+     * for example an unknown enum constant. It returns a status code 400 (BAD REQUEST) along with details
+     * of the exception, including its class name, the name and value of the parameter, and the current time.
+     *
+     * @param e The MethodArgumentTypeMismatchException instance to be handled.
+     * @return A {@link ResponseEntity} containing details of the conversion error.
+     */
+    @ExceptionHandler(value = MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorDto> handleTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        return ResponseEntity.badRequest().body(new ErrorDto(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getClass().getSimpleName(),
+                "%s: Value '%s' is not valid".formatted(e.getName(), e.getValue()),
+                LocalTime.now()
+        ));
+    }
+
     /**
      * Exception handler for handling NotFoundException.
      * <p>
@@ -77,6 +101,47 @@ public class ValidationAdvice {
         ));
     }
 
+    /**
+     * Exception handler for handling PageException.
+     * <p>
+     * This method handles PageException by returning a {@link ResponseEntity} with an error message
+     * when a page is requested with an invalid cursor or page size. It returns a status code 400 (BAD REQUEST)
+     * along with details of the exception, including its class name, message, and the current time.
+     *
+     * @param e The PageException instance to be handled.
+     * @return A {@link ResponseEntity} containing details of the pagination error.
+     */
+    @ExceptionHandler(value = PageException.class)
+    public ResponseEntity<ErrorDto> handlePageException(PageException e) {
+        return ResponseEntity.badRequest().body(new ErrorDto(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getClass().getSimpleName(),
+                e.getMessage(),
+                LocalTime.now()
+        ));
+    }
+
+    /**
+     * Exception handler for handling TaskRejectedException.
+     * <p>
+     * This method handles TaskRejectedException by returning a {@link ResponseEntity} with an error message
+     * when a background pool, such as the password hashing pool, has too much work queued to accept the
+     * request. It returns a status code 503 (SERVICE UNAVAILABLE) along with details of the exception,
+     * including its class name, message, and the current time, so the request can be retried later.
+     *
+     * @param e The TaskRejectedException instance to be handled.
+     * @return A {@link ResponseEntity} containing details of the rejection.
+     */
+    @ExceptionHandler(value = TaskRejectedException.class)
+    public ResponseEntity<ErrorDto> handleTaskRejectedException(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorDto(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                e.getClass().getSimpleName(),
+                "Server is busy, try again later",
+                LocalTime.now()
+        ));
+    }
+
     /**
      * Method for handling validation results.
      * <p>
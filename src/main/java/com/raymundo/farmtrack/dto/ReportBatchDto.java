@@ -0,0 +1,17 @@
+package com.raymundo.farmtrack.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+import static com.raymundo.farmtrack.util.Constants.*;
+
+public record ReportBatchDto(
+
+        @NotEmpty(message = NOT_EMPTY_MESSAGE)
+        @Size(max = MAX_BATCH_SIZE, message = MAX_BATCH_SIZE_MESSAGE)
+        List<@NotNull(message = NOT_NULL_MESSAGE) ReportDto> reports
+) {
+}
@@ -0,0 +1,23 @@
+package com.raymundo.farmtrack.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+import static com.raymundo.farmtrack.util.Constants.*;
+
+public record UserBatchDto(
+
+        @NotEmpty(message = NOT_EMPTY_MESSAGE)
+        @Size(max = MAX_BATCH_SIZE, message = MAX_BATCH_SIZE_MESSAGE)
+        List<@NotNull(message = NOT_NULL_MESSAGE) UserInfoDto> users
+) {
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static UserBatchDto of(List<UserInfoDto> users) {
+        return new UserBatchDto(users);
+    }
+}
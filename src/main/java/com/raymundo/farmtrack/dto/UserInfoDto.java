@@ -3,6 +3,7 @@ package com.raymundo.farmtrack.dto;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.raymundo.farmtrack.util.validation.EnumValid;
+import com.raymundo.farmtrack.util.validation.UniquenessCheck;
 import com.raymundo.farmtrack.util.validation.UserEmailUnique;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -15,7 +16,7 @@ public record UserInfoDto(
 
         @NotBlank(message = NOT_BLANK_MESSAGE)
         @Email(message = EMAIL_MESSAGE)
-        @UserEmailUnique(message = USER_EMAIL_UNIQUE_MESSAGE)
+        @UserEmailUnique(message = USER_EMAIL_UNIQUE_MESSAGE, groups = UniquenessCheck.class)
         String email,
 
         @JsonProperty(access = WRITE_ONLY)
@@ -0,0 +1,16 @@
+package com.raymundo.farmtrack.dto.basic;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+@JsonInclude(value = NON_NULL)
+public record BatchItemDto<T>(
+
+        Integer index,
+
+        T data,
+
+        String error
+) {
+}
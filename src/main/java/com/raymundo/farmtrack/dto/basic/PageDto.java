@@ -0,0 +1,11 @@
+package com.raymundo.farmtrack.dto.basic;
+
+import java.util.List;
+
+public record PageDto<T>(
+
+        List<T> items,
+
+        String next
+) {
+}
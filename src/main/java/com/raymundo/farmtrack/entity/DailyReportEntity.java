@@ -0,0 +1,32 @@
+package com.raymundo.farmtrack.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "_daily_report")
+@Getter
+@Setter
+public class DailyReportEntity extends BaseEntity {
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "amount")
+    private Integer amount;
+
+    @Column(name = "report_count")
+    private Integer reportCount;
+
+    @ManyToOne
+    private ProductEntity product;
+
+    @ManyToOne
+    private UserEntity user;
+}
@@ -0,0 +1,26 @@
+package com.raymundo.farmtrack.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "_harvest_progress")
+@Getter
+@Setter
+public class HarvestProgressEntity extends BaseEntity {
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "amount")
+    private Integer amount;
+
+    @ManyToOne
+    private ProductEntity product;
+}
@@ -0,0 +1,37 @@
+package com.raymundo.farmtrack.entity;
+
+import com.raymundo.farmtrack.util.enumeration.MailStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "_mail_outbox")
+@Getter
+@Setter
+public class MailOutboxEntity extends BaseEntity {
+
+    @Column(name = "recipient")
+    private String recipient;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "text")
+    private String text;
+
+    @Column(name = "status")
+    @Enumerated(value = EnumType.STRING)
+    private MailStatus status;
+
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+}
@@ -0,0 +1,76 @@
+package com.raymundo.farmtrack.repository;
+
+import com.raymundo.farmtrack.entity.DailyReportEntity;
+import com.raymundo.farmtrack.entity.ProductEntity;
+import com.raymundo.farmtrack.entity.UserEntity;
+import com.raymundo.farmtrack.repository.projection.StatisticsProjection;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface DailyReportRepository extends JpaRepository<DailyReportEntity, UUID> {
+
+    @Query(value = "select u.email as email, p.name as product, sum(d.amount) as amount, p.measure as measure " +
+            "from DailyReportEntity d join d.user u join d.product p " +
+            "where d.date between ?1 and ?2 " +
+            "group by u.email, p.name, p.measure " +
+            "order by u.email, p.name")
+    List<StatisticsProjection> sumAmountGroupByUserAndProduct(LocalDate start, LocalDate end);
+
+    @QueryHints(value = {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "select u.email as email, p.name as product, sum(d.amount) as amount, p.measure as measure " +
+            "from DailyReportEntity d join d.user u join d.product p " +
+            "where d.date between ?1 and ?2 " +
+            "group by u.email, p.name, p.measure " +
+            "order by u.email, p.name")
+    Stream<StatisticsProjection> streamAmountGroupByUserAndProduct(LocalDate start, LocalDate end);
+
+    @Query(value = "select u.email as email, p.name as product, sum(d.amount) as amount, p.measure as measure " +
+            "from DailyReportEntity d join d.user u join d.product p " +
+            "where d.user = ?1 and d.date between ?2 and ?3 " +
+            "group by u.email, p.name, p.measure " +
+            "order by p.name")
+    List<StatisticsProjection> sumAmountByUserGroupByProduct(UserEntity user, LocalDate start, LocalDate end);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into _daily_report " +
+            "(id, created_by, created_date, last_modified_date, date, amount, report_count, product_id, user_id) " +
+            "values (gen_random_uuid(), ?6, current_date, current_date, ?1, ?4, ?5, ?2, ?3) " +
+            "on conflict (date, product_id, user_id) do update set " +
+            "amount = _daily_report.amount + excluded.amount, " +
+            "report_count = _daily_report.report_count + excluded.report_count, " +
+            "last_modified_date = excluded.last_modified_date")
+    void addReports(LocalDate date, UUID productId, UUID userId, Integer amount, Integer reportCount, String createdBy);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into _daily_report " +
+            "(id, created_by, created_date, last_modified_date, date, amount, report_count, product_id, user_id) " +
+            "select gen_random_uuid(), ?2, current_date, current_date, r.created_date, sum(r.amount), count(*), r.product_id, r.user_id " +
+            "from _report r " +
+            "where r.created_date = ?1 and r.product_id is not null and r.user_id is not null " +
+            "group by r.created_date, r.product_id, r.user_id")
+    void insertAllFromReports(LocalDate date, String createdBy);
+
+    @Modifying
+    @Query(value = "delete from DailyReportEntity d where d.date = ?1")
+    void deleteAllByDate(LocalDate date);
+
+    @Modifying
+    @Query(value = "delete from DailyReportEntity d where d.product = ?1")
+    void deleteAllByProduct(ProductEntity product);
+}
@@ -2,7 +2,10 @@ package com.raymundo.farmtrack.repository;
 
 import com.raymundo.farmtrack.entity.GradeEntity;
 import com.raymundo.farmtrack.entity.UserEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,4 +19,12 @@ public interface GradeRepository extends JpaRepository<GradeEntity, UUID> {
     Optional<GradeEntity> findByCreatedDateAndUser(LocalDate localDate, UserEntity user);
 
     List<GradeEntity> findAllByUser(UserEntity user);
+
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "select g from GradeEntity g order by g.createdDate, g.id")
+    List<GradeEntity> findPage(Limit limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "select g from GradeEntity g where (g.createdDate, g.id) > (?1, ?2) order by g.createdDate, g.id")
+    List<GradeEntity> findPageAfter(LocalDate date, UUID id, Limit limit);
 }
@@ -0,0 +1,44 @@
+package com.raymundo.farmtrack.repository;
+
+import com.raymundo.farmtrack.entity.HarvestProgressEntity;
+import com.raymundo.farmtrack.entity.ProductEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public interface HarvestProgressRepository extends JpaRepository<HarvestProgressEntity, UUID> {
+
+    @Query(nativeQuery = true, value = "insert into _harvest_progress " +
+            "(id, created_by, created_date, last_modified_date, date, amount, product_id) " +
+            "values (gen_random_uuid(), ?4, current_date, current_date, ?1, ?3, ?2) " +
+            "on conflict (date, product_id) do update set " +
+            "amount = _harvest_progress.amount + excluded.amount, " +
+            "last_modified_date = excluded.last_modified_date " +
+            "returning amount")
+    Integer addAmount(LocalDate date, UUID productId, Integer amount, String createdBy);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into _harvest_progress " +
+            "(id, created_by, created_date, last_modified_date, date, amount, product_id) " +
+            "select gen_random_uuid(), ?2, current_date, current_date, r.created_date, sum(r.amount), r.product_id " +
+            "from _report r " +
+            "where r.created_date = ?1 and r.product_id is not null " +
+            "group by r.created_date, r.product_id " +
+            "on conflict (date, product_id) do update set " +
+            "amount = greatest(_harvest_progress.amount, excluded.amount), " +
+            "last_modified_date = excluded.last_modified_date")
+    void insertAllFromReports(LocalDate date, String createdBy);
+
+    @Modifying
+    @Query(value = "delete from HarvestProgressEntity h where h.date < ?1")
+    void deleteAllByDateBefore(LocalDate date);
+
+    @Modifying
+    @Query(value = "delete from HarvestProgressEntity h where h.product = ?1")
+    void deleteAllByProduct(ProductEntity product);
+}
@@ -1,8 +1,10 @@
 package com.raymundo.farmtrack.repository;
 
 import com.raymundo.farmtrack.entity.HarvestRateEntity;
-import com.raymundo.farmtrack.entity.ProductEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -13,9 +15,20 @@ import java.util.UUID;
 @Repository
 public interface HarvestRateRepository extends JpaRepository<HarvestRateEntity, UUID> {
 
-    Optional<HarvestRateEntity> findByDateAndProduct(LocalDate date, ProductEntity product);
+    @EntityGraph(attributePaths = "product")
+    Optional<HarvestRateEntity> findByDateAndProductId(LocalDate date, UUID productId);
 
+    @EntityGraph(attributePaths = "product")
+    @Query(value = "select h from HarvestRateEntity h order by h.date, h.id")
+    List<HarvestRateEntity> findPage(Limit limit);
+
+    @EntityGraph(attributePaths = "product")
+    @Query(value = "select h from HarvestRateEntity h where (h.date, h.id) > (?1, ?2) order by h.date, h.id")
+    List<HarvestRateEntity> findPageAfter(LocalDate date, UUID id, Limit limit);
+
+    @EntityGraph(attributePaths = "product")
     List<HarvestRateEntity> findAllByDate(LocalDate date);
 
-    List<HarvestRateEntity> findAllByProduct(ProductEntity product);
+    @EntityGraph(attributePaths = "product")
+    List<HarvestRateEntity> findAllByProductId(UUID productId);
 }
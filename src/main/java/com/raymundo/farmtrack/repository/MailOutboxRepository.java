@@ -0,0 +1,27 @@
+package com.raymundo.farmtrack.repository;
+
+import com.raymundo.farmtrack.entity.MailOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, UUID> {
+
+    @Transactional
+    @Query(nativeQuery = true, value = "update _mail_outbox " +
+            "set attempts = attempts + 1, next_attempt_at = ?2 " +
+            "where id in (" +
+            "select id from _mail_outbox " +
+            "where status = 'PENDING' and next_attempt_at <= ?1 " +
+            "order by next_attempt_at " +
+            "limit ?3 " +
+            "for update skip locked) " +
+            "returning *")
+    List<MailOutboxEntity> claimAllDue(LocalDateTime now, LocalDateTime claimedUntil, int limit);
+}
@@ -1,14 +1,36 @@
 package com.raymundo.farmtrack.repository;
 
 import com.raymundo.farmtrack.entity.ProductEntity;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.raymundo.farmtrack.util.Constants.PRODUCTS_CACHE;
+
 @Repository
 public interface ProductRepository extends JpaRepository<ProductEntity, UUID> {
 
+    @Cacheable(cacheNames = PRODUCTS_CACHE, key = "#p0", unless = "#result == null")
     Optional<ProductEntity> findByName(String name);
+
+    List<ProductEntity> findAllByNameIn(Collection<String> names);
+
+    @Query(value = "select p from ProductEntity p order by p.createdDate, p.id")
+    List<ProductEntity> findPage(Limit limit);
+
+    @Query(value = "select p from ProductEntity p where (p.createdDate, p.id) > (?1, ?2) order by p.createdDate, p.id")
+    List<ProductEntity> findPageAfter(LocalDate date, UUID id, Limit limit);
+
+    @Modifying
+    @Query(value = "update ProductEntity p set p.amount = p.amount + ?2, p.lastModifiedDate = current_date where p.id = ?1")
+    void addAmount(UUID productId, Integer amount);
 }
@@ -1,14 +1,27 @@
 package com.raymundo.farmtrack.repository;
 
 import com.raymundo.farmtrack.entity.UserEntity;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.raymundo.farmtrack.util.Constants.USERS_CACHE;
+
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
 
     Optional<UserEntity> findByEmail(String email);
+
+    @Query(value = "select u.email from UserEntity u where u.email in ?1")
+    List<String> findAllEmailsIn(Collection<String> emails);
+
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE, key = "#p0.toString()")
+    Optional<UserEntity> findById(UUID id);
 }
@@ -0,0 +1,22 @@
+package com.raymundo.farmtrack.repository.projection;
+
+import com.raymundo.farmtrack.util.enumeration.Measure;
+
+/**
+ * Projection of a single aggregated statistics row.
+ * <p>
+ * Each row holds the total amount of one product reported by one user, so the
+ * aggregation is performed by the database and no report entities are loaded.
+ *
+ * @author RaymundoZ
+ */
+public interface StatisticsProjection {
+
+    String getEmail();
+
+    String getProduct();
+
+    Long getAmount();
+
+    Measure getMeasure();
+}
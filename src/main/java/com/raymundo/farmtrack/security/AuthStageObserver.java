@@ -0,0 +1,41 @@
+package com.raymundo.farmtrack.security;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+import static com.raymundo.farmtrack.util.Constants.AUTH_STAGE_OBSERVATION;
+
+/**
+ * Observer of the stages of the JWT authentication.
+ * <p>
+ * Every stage is observed as {@code jwt.authentication.stage}, tagged with the name of the stage,
+ * so the stages of {@link JwtFilter} and {@link JwtAuthProvider} are recorded under the same
+ * observation and tag whichever of them runs the stage.
+ *
+ * @author RaymundoZ
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthStageObserver {
+
+    private static final String STAGE = "stage";
+
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Runs a stage of the authentication within its observation.
+     *
+     * @param stage    The name of the stage.
+     * @param supplier The stage to run.
+     * @return The result of the stage.
+     */
+    public <T> T observe(String stage, Supplier<T> supplier) {
+        return Observation.createNotStarted(AUTH_STAGE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue(STAGE, stage)
+                .observe(supplier);
+    }
+}
@@ -20,24 +20,23 @@ public class JwtAuthProvider implements AuthenticationProvider {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final AuthStageObserver authStageObserver;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         JwtAuthToken token = (JwtAuthToken) authentication;
         String accessToken = (String) token.getPrincipal();
         String refreshToken = (String) token.getCredentials();
-        if (jwtService.isTokenValid(accessToken))
-            return getAuthentication(accessToken);
-        else if (jwtService.isTokenValid(refreshToken))
-            return getAuthentication(refreshToken);
-
-        throw AuthException.Code.TOKENS_EXPIRED.get();
+        JwtClaims claims = authStageObserver.observe("token-verification", () -> jwtService.parseToken(accessToken)
+                .or(() -> jwtService.parseToken(refreshToken)))
+                .orElseThrow(AuthException.Code.TOKENS_EXPIRED::get);
+        return getAuthentication(claims);
     }
 
-    private Authentication getAuthentication(String token) throws AuthenticationException {
-        UUID userId = jwtService.getUserId(token);
-        TokenType type = jwtService.getTokenType(token);
-        UserEntity user = userRepository.findById(userId).orElseThrow(() ->
+    private Authentication getAuthentication(JwtClaims claims) throws AuthenticationException {
+        UUID userId = claims.userId();
+        TokenType type = claims.tokenType();
+        UserEntity user = authStageObserver.observe("user-lookup", () -> userRepository.findById(userId)).orElseThrow(() ->
                 NotFoundException.Code.USER_NOT_FOUND.get(userId.toString()));
         if (!user.isEnabled())
             throw AuthException.Code.ACCOUNT_BLOCKED.get();
@@ -0,0 +1,16 @@
+package com.raymundo.farmtrack.security;
+
+import com.raymundo.farmtrack.util.enumeration.TokenType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record JwtClaims(
+
+        UUID userId,
+
+        TokenType tokenType,
+
+        Instant expiration
+) {
+}
@@ -3,6 +3,8 @@ package com.raymundo.farmtrack.security;
 import com.raymundo.farmtrack.entity.UserEntity;
 import com.raymundo.farmtrack.service.JwtService;
 import com.raymundo.farmtrack.util.enumeration.TokenType;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -21,8 +23,24 @@ import org.springframework.web.util.WebUtils;
 import java.io.IOException;
 
 import static com.raymundo.farmtrack.util.Constants.ACCESS_TOKEN;
+import static com.raymundo.farmtrack.util.Constants.AUTH_OBSERVATION;
 import static com.raymundo.farmtrack.util.Constants.REFRESH_TOKEN;
 
+/**
+ * Filter authenticating requests by the JWT tokens in their cookies.
+ * <p>
+ * The tokens are extracted from the cookies and authenticated by the {@link AuthenticationManager}.
+ * If the access token has expired but the refresh token is still valid, both tokens are
+ * re-issued. The authentication is observed as {@code jwt.authentication}, tagged with its
+ * outcome, and each of its stages as {@code jwt.authentication.stage} by the {@link AuthStageObserver}:
+ * {@code cookie-extraction} and {@code token-refresh} here, {@code token-verification} and
+ * {@code user-lookup} in {@link JwtAuthProvider}. The observations are recorded as timers and,
+ * when tracing is enabled, as spans nested in the span of the request, so the time spent on
+ * authentication can be told apart from the time of the request handling. The downstream
+ * filters and the handler are not included in the observation.
+ *
+ * @author RaymundoZ
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
@@ -31,6 +49,8 @@ public class JwtFilter extends OncePerRequestFilter {
     private final AuthenticationManager authManager;
     private final JwtService jwtService;
     private final WebAuthenticationDetailsSource detailsSource;
+    private final ObservationRegistry observationRegistry;
+    private final AuthStageObserver authStageObserver;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -38,32 +58,54 @@ public class JwtFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        Cookie accessToken = WebUtils.getCookie(request, ACCESS_TOKEN);
-        Cookie refreshToken = WebUtils.getCookie(request, REFRESH_TOKEN);
-        JwtAuthToken authToken = new JwtAuthToken(accessToken == null ? null : accessToken.getValue(),
-                refreshToken == null ? null : refreshToken.getValue());
+        Observation observation = Observation.start(AUTH_OBSERVATION, observationRegistry);
+        JwtAuthToken authentication;
+        try (Observation.Scope scope = observation.openScope()) {
+            authentication = authenticate(request, response);
+            observation.lowCardinalityKeyValue("outcome", authentication == null ? "unauthenticated"
+                    : authentication.getCredentials().equals(TokenType.REFRESH) ? "refreshed" : "authenticated");
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+
+        if (authentication != null) {
+            SecurityContext securityContext = holderStrategy.createEmptyContext();
+            securityContext.setAuthentication(authentication);
+            holderStrategy.setContext(securityContext);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private JwtAuthToken authenticate(HttpServletRequest request, HttpServletResponse response) {
+        JwtAuthToken authToken = authStageObserver.observe("cookie-extraction", () -> {
+            Cookie accessToken = WebUtils.getCookie(request, ACCESS_TOKEN);
+            Cookie refreshToken = WebUtils.getCookie(request, REFRESH_TOKEN);
+            return new JwtAuthToken(accessToken == null ? null : accessToken.getValue(),
+                    refreshToken == null ? null : refreshToken.getValue());
+        });
         JwtAuthToken authentication;
         try {
             authentication = (JwtAuthToken) authManager.authenticate(authToken);
             authentication.setDetails(detailsSource.buildDetails(request));
         } catch (AuthenticationException e) {
-            filterChain.doFilter(request, response);
-            return;
+            return null;
         }
         UserEntity user = (UserEntity) authentication.getPrincipal();
         TokenType type = (TokenType) authentication.getCredentials();
         if (type.equals(TokenType.REFRESH)) {
-            response.addCookie(getCookie(ACCESS_TOKEN, null));
-            response.addCookie(getCookie(REFRESH_TOKEN, null));
-            response.addCookie(getCookie(ACCESS_TOKEN, jwtService.generateToken(user, TokenType.ACCESS)));
-            response.addCookie(getCookie(REFRESH_TOKEN, jwtService.generateToken(user, TokenType.REFRESH)));
+            authStageObserver.observe("token-refresh", () -> {
+                response.addCookie(getCookie(ACCESS_TOKEN, null));
+                response.addCookie(getCookie(REFRESH_TOKEN, null));
+                response.addCookie(getCookie(ACCESS_TOKEN, jwtService.generateToken(user, TokenType.ACCESS)));
+                response.addCookie(getCookie(REFRESH_TOKEN, jwtService.generateToken(user, TokenType.REFRESH)));
+                return null;
+            });
         }
-
-        SecurityContext securityContext = holderStrategy.createEmptyContext();
-        securityContext.setAuthentication(authentication);
-        holderStrategy.setContext(securityContext);
-
-        filterChain.doFilter(request, response);
+        return authentication;
     }
 
     private Cookie getCookie(String name, String value) {
@@ -22,6 +22,7 @@ public class SecurityAuditorAware implements AuditorAware<String> {
                 .map(SecurityContext::getAuthentication)
                 .filter(Authentication::isAuthenticated)
                 .map(Authentication::getPrincipal)
+                .filter(UserEntity.class::isInstance)
                 .map(UserEntity.class::cast)
                 .map(UserEntity::getEmail);
     }
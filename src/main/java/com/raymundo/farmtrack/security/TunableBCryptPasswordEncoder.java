@@ -0,0 +1,37 @@
+package com.raymundo.farmtrack.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder that asks for any hash of another strength to be re-encoded.
+ * <p>
+ * {@link BCryptPasswordEncoder} only upgrades hashes weaker than its strength, so lowering
+ * the strength would leave the stored hashes at the old cost forever. This encoder reports
+ * every hash whose cost differs from its strength as needing an upgrade, so when the strength
+ * is changed in either direction, the hash of a user is re-encoded at the new strength on the
+ * next successful login.
+ *
+ * @author RaymundoZ
+ */
+public class TunableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern COST_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public TunableBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null)
+            return false;
+        Matcher matcher = COST_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
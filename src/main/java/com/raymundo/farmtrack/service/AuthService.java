@@ -2,12 +2,18 @@ package com.raymundo.farmtrack.service;
 
 import com.raymundo.farmtrack.dto.AuthDto;
 import com.raymundo.farmtrack.dto.UserInfoDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface AuthService {
 
     UserInfoDto authenticate(AuthDto authDto);
 
-    UserInfoDto registerUser(UserInfoDto userInfoDto);
+    CompletableFuture<UserInfoDto> registerUser(UserInfoDto userInfoDto);
+
+    CompletableFuture<List<BatchItemDto<UserInfoDto>>> registerUsers(List<UserInfoDto> users);
 
     UserInfoDto blockUser(String userEmail);
 
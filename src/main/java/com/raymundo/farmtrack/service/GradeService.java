@@ -1,6 +1,7 @@
 package com.raymundo.farmtrack.service;
 
 import com.raymundo.farmtrack.dto.GradeDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 
 import java.util.List;
 
@@ -8,7 +9,7 @@ public interface GradeService {
 
     GradeDto rateUser(GradeDto gradeDto);
 
-    List<GradeDto> getGrades();
+    PageDto<GradeDto> getGrades(String cursor, int size);
 
     List<GradeDto> getGradesByUser(String user);
 }
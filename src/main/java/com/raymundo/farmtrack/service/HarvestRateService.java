@@ -1,6 +1,7 @@
 package com.raymundo.farmtrack.service;
 
 import com.raymundo.farmtrack.dto.HarvestRateDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -9,7 +10,7 @@ public interface HarvestRateService {
 
     HarvestRateDto createHarvestRate(HarvestRateDto harvestRate);
 
-    List<HarvestRateDto> getAllHarvestRates();
+    PageDto<HarvestRateDto> getAllHarvestRates(String cursor, int size);
 
     List<HarvestRateDto> getHarvestRatesByDate(LocalDate date);
 
@@ -1,17 +1,14 @@
 package com.raymundo.farmtrack.service;
 
 import com.raymundo.farmtrack.entity.UserEntity;
+import com.raymundo.farmtrack.security.JwtClaims;
 import com.raymundo.farmtrack.util.enumeration.TokenType;
 
-import java.util.UUID;
+import java.util.Optional;
 
 public interface JwtService {
 
     String generateToken(UserEntity user, TokenType tokenType);
 
-    boolean isTokenValid(String token);
-
-    UUID getUserId(String token);
-
-    TokenType getTokenType(String token);
+    Optional<JwtClaims> parseToken(String token);
 }
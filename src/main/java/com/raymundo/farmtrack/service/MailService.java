@@ -0,0 +1,8 @@
+package com.raymundo.farmtrack.service;
+
+public interface MailService {
+
+    void sendMail(String recipient, String subject, String text);
+
+    int deliverPendingMails();
+}
@@ -0,0 +1,8 @@
+package com.raymundo.farmtrack.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashingService {
+
+    CompletableFuture<String> encode(String rawPassword);
+}
@@ -1,8 +1,7 @@
 package com.raymundo.farmtrack.service;
 
 import com.raymundo.farmtrack.dto.ProductDto;
-
-import java.util.List;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 
 public interface ProductService {
 
@@ -10,5 +9,5 @@ public interface ProductService {
 
     ProductDto deleteProduct(String productName);
 
-    List<ProductDto> getAllProducts();
+    PageDto<ProductDto> getAllProducts(String cursor, int size);
 }
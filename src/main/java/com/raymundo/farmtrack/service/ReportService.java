@@ -2,16 +2,28 @@ package com.raymundo.farmtrack.service;
 
 import com.raymundo.farmtrack.dto.ReportDto;
 import com.raymundo.farmtrack.dto.StatisticsDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
+import com.raymundo.farmtrack.util.enumeration.ExportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReportService {
 
     ReportDto createReport(ReportDto report);
 
+    List<BatchItemDto<ReportDto>> createReports(List<ReportDto> reports);
+
     List<StatisticsDto> getGeneralStatistics(StatisticsDto statisticsDto);
 
     StatisticsDto getStatisticsByUser(StatisticsDto statisticsDto, String user);
 
+    void exportGeneralStatistics(StatisticsDto statisticsDto, ExportFormat format, OutputStream outputStream) throws IOException;
+
     void sendStatisticsEmail();
+
+    void rebuildDailyReports();
+
+    void reconcileHarvestProgress();
 }
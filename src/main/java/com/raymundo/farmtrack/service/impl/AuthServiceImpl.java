@@ -2,15 +2,20 @@ package com.raymundo.farmtrack.service.impl;
 
 import com.raymundo.farmtrack.dto.AuthDto;
 import com.raymundo.farmtrack.dto.UserInfoDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
 import com.raymundo.farmtrack.entity.UserEntity;
 import com.raymundo.farmtrack.mapper.UserInfoMapper;
 import com.raymundo.farmtrack.repository.UserRepository;
 import com.raymundo.farmtrack.service.AuthService;
 import com.raymundo.farmtrack.service.JwtService;
+import com.raymundo.farmtrack.service.PasswordHashingService;
+import com.raymundo.farmtrack.util.cache.CacheInvalidator;
 import com.raymundo.farmtrack.util.enumeration.TokenType;
 import com.raymundo.farmtrack.util.exception.AuthException;
 import com.raymundo.farmtrack.util.exception.NotFoundException;
+import com.raymundo.farmtrack.util.validation.BatchItemValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -18,7 +23,16 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static com.raymundo.farmtrack.util.Constants.USERS_CACHE;
+import static com.raymundo.farmtrack.util.Constants.USER_EMAIL_UNIQUE_MESSAGE;
 
 /**
  * Implementation of the {@link AuthService} interface for user authentication, registration,
@@ -27,7 +41,9 @@ import org.springframework.stereotype.Service;
  * It utilizes an {@link AuthenticationManager} for authenticating users,
  * a {@link SecurityContextHolderStrategy} for managing the security context,
  * a {@link JwtService} for generating JWT tokens, a {@link UserRepository} for accessing user data,
- * and a {@link UserInfoMapper} for mapping user entities to DTOs.
+ * a {@link PasswordHashingService} for encoding passwords, a {@link BatchItemValidator} for validating the
+ * users of a batch, a {@link CacheInvalidator} for dropping changed users from the cache of every
+ * instance, and a {@link UserInfoMapper} for mapping user entities to DTOs.
  *
  * @author RaymundoZ
  */
@@ -40,6 +56,9 @@ public class AuthServiceImpl implements AuthService {
     private final UserInfoMapper userInfoMapper;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final PasswordHashingService passwordHashingService;
+    private final BatchItemValidator batchItemValidator;
+    private final CacheInvalidator cacheInvalidator;
 
 
     /**
@@ -94,17 +113,126 @@ public class AuthServiceImpl implements AuthService {
      * Registers a new user based on the provided user information.
      * <p>
      * This method takes a {@link UserInfoDto} object containing user information and
-     * converts it to a {@link UserEntity}. The converted user entity is then saved
-     * using the user repository. Finally, the saved user entity is converted back to
-     * a {@link UserInfoDto} object using {@link UserInfoMapper} and returned.
+     * converts it to a {@link UserEntity}. The password is encoded by the
+     * {@link PasswordHashingService} on its own pool, so the calling thread is not used for it.
+     * Once the password is encoded, the user entity is saved using the user repository on the
+     * same pool thread, and the saved user entity is converted back to a {@link UserInfoDto}
+     * object using {@link UserInfoMapper}.
      *
      * @param userInfoDto A {@link UserInfoDto} object containing the user information to register.
-     * @return A {@link UserInfoDto} object representing the registered user information.
+     * @return A future completed with a {@link UserInfoDto} object representing the registered user information.
      */
     @Override
-    public UserInfoDto registerUser(UserInfoDto userInfoDto) {
+    public CompletableFuture<UserInfoDto> registerUser(UserInfoDto userInfoDto) {
         UserEntity user = userInfoMapper.toEntity(userInfoDto);
-        return userInfoMapper.toDto(userRepository.save(user));
+        return passwordHashingService.encode(userInfoDto.password()).thenApply(password -> {
+            user.setPassword(password);
+            return userInfoMapper.toDto(userRepository.save(user));
+        });
+    }
+
+    /**
+     * Registers several users at once.
+     * <p>
+     * This method validates every user on its own, leaving out the uniqueness of the email,
+     * which is then checked for all valid users with one query. Users with an email that is
+     * already taken, or that is used by a preceding user of the batch, are not registered
+     * either. The passwords of the remaining users are all submitted to the
+     * {@link PasswordHashingService} at once, so they are encoded in parallel on its pool. If the
+     * pool rejects a password, the passwords already submitted are cancelled, so the pool does
+     * not encode them for nothing. Once every password is encoded, the users are saved within a
+     * single transaction using JDBC batching, on the pool thread that encoded the last password.
+     * If an email was taken concurrently after it was checked, the transaction fails, and the
+     * users whose email is taken by now are reported as such while the others are saved again.
+     * The result contains an item for every user of the batch, holding either the registered
+     * user or the error message.
+     *
+     * @param users A list of {@link UserInfoDto} objects containing the information of the users to register.
+     * @return A future completed with a list of {@link BatchItemDto} objects representing the result of each user.
+     * @throws TaskRejectedException Thrown when the queue of the hashing pool cannot take all passwords of the batch.
+     */
+    @Override
+    public CompletableFuture<List<BatchItemDto<UserInfoDto>>> registerUsers(List<UserInfoDto> users) {
+        String[] errors = new String[users.size()];
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            errors[i] = batchItemValidator.validate(users.get(i));
+            if (errors[i] == null)
+                emails.add(users.get(i).email());
+        }
+        Set<String> taken = emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findAllEmailsIn(emails));
+        UserEntity[] created = new UserEntity[users.size()];
+        List<CompletableFuture<String>> encodings = new ArrayList<>();
+        List<CompletableFuture<Void>> passwords = new ArrayList<>();
+        try {
+            for (int i = 0; i < users.size(); i++) {
+                if (errors[i] != null)
+                    continue;
+                UserInfoDto userInfoDto = users.get(i);
+                if (!taken.add(userInfoDto.email())) {
+                    errors[i] = "email: " + USER_EMAIL_UNIQUE_MESSAGE;
+                    continue;
+                }
+                UserEntity user = userInfoMapper.toEntity(userInfoDto);
+                CompletableFuture<String> encoding = passwordHashingService.encode(userInfoDto.password());
+                encodings.add(encoding);
+                passwords.add(encoding.thenAccept(user::setPassword));
+                created[i] = user;
+            }
+        } catch (TaskRejectedException e) {
+            encodings.forEach(encoding -> encoding.cancel(false));
+            throw e;
+        }
+        return CompletableFuture.allOf(passwords.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            saveAll(created, errors);
+            List<BatchItemDto<UserInfoDto>> results = new ArrayList<>(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                if (created[i] == null)
+                    results.add(new BatchItemDto<>(i, null, errors[i]));
+                else
+                    results.add(new BatchItemDto<>(i, userInfoMapper.toDto(created[i]), null));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Saves the users of a batch whose email was free when the batch was checked.
+     * <p>
+     * If the email of a user was taken concurrently in the meantime, the unique constraint
+     * fails the whole transaction. The users whose email is taken by now are then left out
+     * with the error message, and the remaining users are saved again. The exception is thrown
+     * if no email turns out to be taken, as the constraint violation has another cause.
+     *
+     * @param created The users to save, with {@code null} for the users left out of the batch.
+     * @param errors  The error messages of the users left out of the batch, updated with the users whose email was taken.
+     * @throws DataIntegrityViolationException Thrown when saving the users fails for another reason than a taken email.
+     */
+    private void saveAll(UserEntity[] created, String[] errors) {
+        while (true) {
+            List<UserEntity> users = Arrays.stream(created).filter(Objects::nonNull).toList();
+            if (users.isEmpty())
+                return;
+            try {
+                userRepository.saveAll(users);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                Set<String> taken = new HashSet<>(userRepository.findAllEmailsIn(
+                        users.stream().map(UserEntity::getEmail).collect(Collectors.toSet())));
+                if (taken.isEmpty())
+                    throw e;
+                for (int i = 0; i < created.length; i++) {
+                    if (created[i] == null)
+                        continue;
+                    if (taken.contains(created[i].getEmail())) {
+                        created[i] = null;
+                        errors[i] = "email: " + USER_EMAIL_UNIQUE_MESSAGE;
+                    } else {
+                        created[i].setId(null);
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -114,19 +242,24 @@ public class AuthServiceImpl implements AuthService {
      * from the user repository. If the user is not found, a {@link NotFoundException} is
      * thrown indicating that the user was not found. If the user is found, their 'isEnabled'
      * property is set to false, indicating that the user is blocked. The updated user entity
-     * is then saved using the user repository, and the updated user information is converted
-     * to a {@link UserInfoDto} object using {@link UserInfoMapper} and returned.
+     * is then saved using the user repository, and the user is published with {@link CacheInvalidator},
+     * so every instance evicts it from the cache of authenticated principals once the change is
+     * committed, and the change takes effect on the very next request. The updated
+     * user information is converted to a {@link UserInfoDto} object using {@link UserInfoMapper} and returned.
      *
      * @param userEmail The email address of the user to be blocked.
      * @return A {@link UserInfoDto} object representing the updated user information after blocking.
      * @throws NotFoundException Thrown when the user with the specified email address is not found.
      */
     @Override
+    @Transactional
     public UserInfoDto blockUser(String userEmail) {
         UserEntity user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> NotFoundException.Code.USER_NOT_FOUND.get(userEmail));
         user.setIsEnabled(false);
-        return userInfoMapper.toDto(userRepository.save(user));
+        UserEntity saved = userRepository.save(user);
+        cacheInvalidator.publish(USERS_CACHE, saved.getId());
+        return userInfoMapper.toDto(saved);
     }
 
     /**
@@ -136,18 +269,23 @@ public class AuthServiceImpl implements AuthService {
      * from the user repository. If the user is not found, a {@link NotFoundException} is
      * thrown indicating that the user was not found. If the user is found, their 'isEnabled'
      * property is set to true, indicating that the user is unblocked. The updated user entity
-     * is then saved using the user repository, and the updated user information is converted
-     * to a {@link UserInfoDto} object using {@link UserInfoMapper} and returned.
+     * is then saved using the user repository, and the user is published with {@link CacheInvalidator},
+     * so every instance evicts it from the cache of authenticated principals once the change is
+     * committed, and the change takes effect on the very next request. The updated
+     * user information is converted to a {@link UserInfoDto} object using {@link UserInfoMapper} and returned.
      *
      * @param userEmail The email address of the user to be unblocked.
      * @return A {@link UserInfoDto} object representing the updated user information after unblocking.
      * @throws NotFoundException Thrown when the user with the specified email address is not found.
      */
     @Override
+    @Transactional
     public UserInfoDto unblockUser(String userEmail) {
         UserEntity user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> NotFoundException.Code.USER_NOT_FOUND.get(userEmail));
         user.setIsEnabled(true);
-        return userInfoMapper.toDto(userRepository.save(user));
+        UserEntity saved = userRepository.save(user);
+        cacheInvalidator.publish(USERS_CACHE, saved.getId());
+        return userInfoMapper.toDto(saved);
     }
 }
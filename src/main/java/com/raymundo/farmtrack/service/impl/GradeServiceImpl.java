@@ -1,15 +1,19 @@
 package com.raymundo.farmtrack.service.impl;
 
 import com.raymundo.farmtrack.dto.GradeDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 import com.raymundo.farmtrack.entity.GradeEntity;
 import com.raymundo.farmtrack.entity.UserEntity;
 import com.raymundo.farmtrack.mapper.GradeMapper;
 import com.raymundo.farmtrack.repository.GradeRepository;
 import com.raymundo.farmtrack.repository.UserRepository;
 import com.raymundo.farmtrack.service.GradeService;
+import com.raymundo.farmtrack.util.Pagination;
 import com.raymundo.farmtrack.util.exception.GradeException;
 import com.raymundo.farmtrack.util.exception.NotFoundException;
+import com.raymundo.farmtrack.util.exception.PageException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -75,19 +79,33 @@ public class GradeServiceImpl implements GradeService {
     }
 
     /**
-     * Retrieves a list of all grades.
+     * Retrieves a page of grades.
      * <p>
-     * This method retrieves all grade entities from the grade repository and maps them to
-     * {@link GradeDto} objects using {@link GradeMapper}. The resulting list of grade DTOs
-     * is returned.
+     * This method reads the grades ordered by creation date and id from the grade repository,
+     * starting right after the row the provided cursor points to, or from the first row if no
+     * cursor is provided. Only the rows of the requested page are read, so the cost of a page does
+     * not depend on its position. The entities are mapped to {@link GradeDto} objects using
+     * {@link GradeMapper} and returned together with the cursor of the next page, which is {@code null}
+     * on the last page.
      *
-     * @return A list of {@link GradeDto} objects representing all grades.
+     * @param cursor The cursor of the page returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of grades on the page.
+     * @return A {@link PageDto} object containing the grades of the page and the cursor of the next page.
+     * @throws PageException Thrown when the cursor or the page size is not valid.
      */
     @Override
-    public List<GradeDto> getGrades() {
-        return gradeRepository.findAll().stream()
-                .map(gradeMapper::toDto)
-                .toList();
+    public PageDto<GradeDto> getGrades(String cursor, int size) {
+        Pagination.Cursor after = Pagination.decode(cursor);
+        Limit limit = Pagination.limit(size);
+        List<GradeEntity> rows = after == null
+                ? gradeRepository.findPage(limit)
+                : gradeRepository.findPageAfter(after.date(), after.id(), limit);
+        return Pagination.toPage(
+                rows,
+                limit,
+                grade -> new Pagination.Cursor(grade.getCreatedDate(), grade.getId()),
+                gradeMapper::toDto
+        );
     }
 
     /**
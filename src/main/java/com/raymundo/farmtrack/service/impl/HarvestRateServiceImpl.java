@@ -1,20 +1,28 @@
 package com.raymundo.farmtrack.service.impl;
 
 import com.raymundo.farmtrack.dto.HarvestRateDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 import com.raymundo.farmtrack.entity.HarvestRateEntity;
 import com.raymundo.farmtrack.entity.ProductEntity;
 import com.raymundo.farmtrack.mapper.HarvestRateMapper;
 import com.raymundo.farmtrack.repository.HarvestRateRepository;
 import com.raymundo.farmtrack.repository.ProductRepository;
 import com.raymundo.farmtrack.service.HarvestRateService;
+import com.raymundo.farmtrack.util.Pagination;
+import com.raymundo.farmtrack.util.cache.CacheInvalidator;
 import com.raymundo.farmtrack.util.exception.NotFoundException;
+import com.raymundo.farmtrack.util.exception.PageException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static com.raymundo.farmtrack.util.Constants.HARVEST_RATES_CACHE;
+
 /**
  * Implementation of the {@link HarvestRateService} interface for managing harvest rate entries.
  * <p>
@@ -31,6 +39,7 @@ public class HarvestRateServiceImpl implements HarvestRateService {
     private final HarvestRateRepository harvestRateRepository;
     private final ProductRepository productRepository;
     private final HarvestRateMapper harvestRateMapper;
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * Creates or updates a harvest rate entry for a product.
@@ -41,19 +50,22 @@ public class HarvestRateServiceImpl implements HarvestRateService {
      * entry for the specified date and product exists in the harvest rate repository. If
      * an entry exists, it updates the existing entry with the provided rate value; otherwise,
      * it creates a new harvest rate entity based on the provided harvest rate information.
-     * The harvest rate entity is then saved using the harvest rate repository, and the
-     * updated or newly created harvest rate information is converted to a
-     * {@link HarvestRateDto} object using {@link HarvestRateMapper} and returned.
+     * The harvest rate entity is then saved using the harvest rate repository, and the date
+     * is published with {@link CacheInvalidator}, so every instance drops the cached harvest
+     * rates of that date once the transaction commits. The updated or newly created harvest
+     * rate information is converted to a {@link HarvestRateDto} object using
+     * {@link HarvestRateMapper} and returned.
      *
      * @param harvestRate A {@link HarvestRateDto} object containing the harvest rate information.
      * @return A {@link HarvestRateDto} object representing the created or updated harvest rate entry.
      * @throws NotFoundException Thrown when the product with the specified name is not found.
      */
     @Override
+    @Transactional
     public HarvestRateDto createHarvestRate(HarvestRateDto harvestRate) {
         ProductEntity product = productRepository.findByName(harvestRate.product())
                 .orElseThrow(() -> NotFoundException.Code.PRODUCT_NOT_FOUND.get(harvestRate.product()));
-        Optional<HarvestRateEntity> optional = harvestRateRepository.findByDateAndProduct(harvestRate.date(), product);
+        Optional<HarvestRateEntity> optional = harvestRateRepository.findByDateAndProductId(harvestRate.date(), product.getId());
         HarvestRateEntity entity;
         if (optional.isPresent()) {
             entity = optional.get();
@@ -62,23 +74,39 @@ public class HarvestRateServiceImpl implements HarvestRateService {
             entity = harvestRateMapper.toEntity(harvestRate);
             entity.setProduct(product);
         }
-        return harvestRateMapper.toDto(harvestRateRepository.save(entity));
+        HarvestRateEntity saved = harvestRateRepository.save(entity);
+        cacheInvalidator.publish(HARVEST_RATES_CACHE, harvestRate.date().toString());
+        return harvestRateMapper.toDto(saved);
     }
 
     /**
-     * Retrieves a list of all harvest rate entries.
+     * Retrieves a page of harvest rates.
      * <p>
-     * This method retrieves all harvest rate entities from the harvest rate repository
-     * and maps them to {@link HarvestRateDto} objects using {@link HarvestRateMapper}.
-     * The resulting list of harvest rate DTOs is returned.
+     * This method reads the harvest rates ordered by date and id from the harvest rate repository,
+     * starting right after the row the provided cursor points to, or from the first row if no
+     * cursor is provided. Only the rows of the requested page are read, so the cost of a page does
+     * not depend on its position. The entities are mapped to {@link HarvestRateDto} objects using
+     * {@link HarvestRateMapper} and returned together with the cursor of the next page, which is {@code null}
+     * on the last page.
      *
-     * @return A list of {@link HarvestRateDto} objects representing all harvest rate entries.
+     * @param cursor The cursor of the page returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of harvest rates on the page.
+     * @return A {@link PageDto} object containing the harvest rates of the page and the cursor of the next page.
+     * @throws PageException Thrown when the cursor or the page size is not valid.
      */
     @Override
-    public List<HarvestRateDto> getAllHarvestRates() {
-        return harvestRateRepository.findAll().stream()
-                .map(harvestRateMapper::toDto)
-                .toList();
+    public PageDto<HarvestRateDto> getAllHarvestRates(String cursor, int size) {
+        Pagination.Cursor after = Pagination.decode(cursor);
+        Limit limit = Pagination.limit(size);
+        List<HarvestRateEntity> rows = after == null
+                ? harvestRateRepository.findPage(limit)
+                : harvestRateRepository.findPageAfter(after.date(), after.id(), limit);
+        return Pagination.toPage(
+                rows,
+                limit,
+                harvestRate -> new Pagination.Cursor(harvestRate.getDate(), harvestRate.getId()),
+                harvestRateMapper::toDto
+        );
     }
 
     /**
@@ -116,7 +144,7 @@ public class HarvestRateServiceImpl implements HarvestRateService {
     public List<HarvestRateDto> getHarvestRatesByProduct(String product) {
         ProductEntity entity = productRepository.findByName(product)
                 .orElseThrow(() -> NotFoundException.Code.PRODUCT_NOT_FOUND.get(product));
-        return harvestRateRepository.findAllByProduct(entity).stream()
+        return harvestRateRepository.findAllByProductId(entity.getId()).stream()
                 .map(harvestRateMapper::toDto)
                 .toList();
     }
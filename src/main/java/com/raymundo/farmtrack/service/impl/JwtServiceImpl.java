@@ -1,17 +1,36 @@
 package com.raymundo.farmtrack.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.raymundo.farmtrack.entity.UserEntity;
+import com.raymundo.farmtrack.security.JwtClaims;
 import com.raymundo.farmtrack.service.JwtService;
 import com.raymundo.farmtrack.util.enumeration.TokenType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -19,23 +38,52 @@ import java.util.UUID;
  * <p>
  * This service provides methods for generating, validating, and extracting information from JWT tokens.
  * It utilizes a secret key for signing tokens, which is retrieved from the application properties.
+ * The signing key and the token parser are built once, when the service is created. Every token carries
+ * the id of the key it was signed with. The signing key is rotated by restarting the application with a
+ * new secret key and the previous ones listed as previous secret keys, so tokens signed with the previous
+ * keys are still accepted by every instance until they expire. Verified tokens are kept in a bounded cache
+ * until they expire, so repeated requests with the same token do not verify its signature again.
  *
  * @author RaymundoZ
  */
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value(value = "${jwt-service.secret-key}")
-    private String secretKey;
+    private static final Duration ACCESS_TOKEN_LIFETIME = Duration.ofMinutes(10);
+    private static final Duration REFRESH_TOKEN_LIFETIME = Duration.ofDays(7);
+
+    private final Map<String, SecretKey> verificationKeys = new HashMap<>();
+    private final Cache<String, JwtClaims> verifiedTokens;
+    private final JwtParser parser;
+    private final SigningKey signingKey;
+
+    public JwtServiceImpl(@Value(value = "${jwt-service.secret-key}") String secretKey,
+                          @Value(value = "${jwt-service.previous-secret-keys}") List<String> previousSecretKeys,
+                          @Value(value = "${jwt-service.cache-size}") long cacheSize) {
+        this.signingKey = createSigningKey(secretKey);
+        verificationKeys.put(signingKey.id(), signingKey.key());
+        previousSecretKeys.stream()
+                .filter(previousSecretKey -> !previousSecretKey.isBlank())
+                .map(this::createSigningKey)
+                .forEach(key -> verificationKeys.putIfAbsent(key.id(), key.key()));
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+        this.parser = Jwts.parser()
+                .keyLocator(this::locateKey)
+                .build();
+    }
 
     /**
      * Generates a JWT token for the given user and token type.
      * <p>
      * This method generates a JWT token containing claims such as user ID, token type, issued
      * timestamp, and expiration timestamp. The expiration timestamp is determined based on
-     * the token type. If the token type is ACCESS, the token expires in 10 minutes (600 seconds);
-     * otherwise, if the token type is REFRESH, the token expires in 7 days (604800 seconds).
-     * The JWT token is signed using the signing key obtained from {@code getSigningKey()} method.
+     * the token type. If the token type is ACCESS, the token expires in 10 minutes;
+     * otherwise, if the token type is REFRESH, the token expires in 7 days. The JWT token
+     * is signed using the current signing key, and the id of that key is put into the
+     * token header.
      *
      * @param user      The user entity for whom the token is generated.
      * @param tokenType The type of token to be generated (ACCESS or REFRESH).
@@ -44,96 +92,121 @@ public class JwtServiceImpl implements JwtService {
     @Override
     public String generateToken(UserEntity user, TokenType tokenType) {
         Instant issuedAt = Instant.now();
-        Instant expiration = issuedAt.plusSeconds(tokenType.equals(TokenType.ACCESS) ? 600 : 604800);
-        return Jwts.builder().claims()
+        Instant expiration = issuedAt.plus(tokenType.equals(TokenType.ACCESS) ? ACCESS_TOKEN_LIFETIME : REFRESH_TOKEN_LIFETIME);
+        return Jwts.builder()
+                .header().keyId(signingKey.id())
+                .and()
+                .claims()
                 .add("user_id", user.getId().toString())
                 .add("token_type", tokenType.toString())
                 .issuedAt(Date.from(issuedAt))
                 .expiration(Date.from(expiration))
                 .and()
-                .signWith(getSigningKey())
+                .signWith(signingKey.key())
                 .compact();
     }
 
     /**
-     * Checks whether a given JWT token is valid.
+     * Verifies a JWT token and extracts its claims.
      * <p>
-     * This method attempts to parse and verify the given JWT token using the signing key
-     * obtained from {@code getSigningKey()}. If the token is successfully parsed and verified,
-     * the method returns true indicating that the token is valid; otherwise, if an exception
-     * occurs during parsing or verification, or if the token is invalid, the method returns false.
+     * This method first looks the token up in the cache of verified tokens. If it is not
+     * there, the token is parsed and verified once with the key identified by its header,
+     * and the user ID, token type, and expiration timestamp are
+     * extracted from its payload into a {@link JwtClaims} object, which is then cached.
+     * Cached entries expire together with their tokens, so an expired token is never
+     * returned from the cache. If the token is missing, malformed, expired, or its
+     * signature is invalid, an empty {@link Optional} is returned.
      *
-     * @param token The JWT token to be validated.
-     * @return {@code true} if the token is valid, {@code false} otherwise.
+     * @param token The JWT token to be verified.
+     * @return An {@link Optional} containing the claims of the token if it is valid, or an empty {@link Optional} otherwise.
      */
     @Override
-    public boolean isTokenValid(String token) {
+    public Optional<JwtClaims> parseToken(String token) {
+        if (token == null)
+            return Optional.empty();
+        JwtClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null)
+            return Optional.of(cached);
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims payload = parser.parseSignedClaims(token).getPayload();
+            JwtClaims claims = new JwtClaims(
+                    UUID.fromString(payload.get("user_id", String.class)),
+                    TokenType.valueOf(payload.get("token_type", String.class)),
+                    payload.getExpiration().toInstant()
+            );
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
     /**
-     * Retrieves the user ID from a JWT token.
+     * Finds the key for verifying a token.
      * <p>
-     * This method parses the provided JWT token, verifies it using the signing key obtained
-     * from {@code getSigningKey()}, and retrieves the user ID from the token's payload.
-     * The user ID is then returned as a {@link UUID}.
+     * This method looks up the verification key by the key id from the token header.
+     * Tokens without a key id were issued before keys were identified, so they are
+     * verified with the key the service was started with. If the key is unknown, a
+     * {@link JwtException} is thrown and the token is rejected.
      *
-     * @param token The JWT token from which to retrieve the user ID.
-     * @return The user ID extracted from the JWT token as a {@link UUID}.
-     * @throws JwtException             Thrown if an error occurs during parsing or verification of the token.
-     * @throws IllegalArgumentException Thrown if the token is invalid or malformed.
+     * @param header The header of the token being verified.
+     * @return The key for verifying the token.
+     * @throws JwtException Thrown when no key can verify the token.
      */
-    @Override
-    public UUID getUserId(String token) {
-        return UUID.fromString(Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("user_id", String.class));
+    private Key locateKey(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        SecretKey key = verificationKeys.get(keyId == null ? signingKey.id() : keyId);
+        if (key == null)
+            throw new JwtException("Unknown signing key '%s'".formatted(keyId));
+        return key;
     }
 
     /**
-     * Retrieves the token type from a JWT token.
+     * Creates a signing key from a secret key.
      * <p>
-     * This method parses the provided JWT token, verifies it using the signing key obtained
-     * from {@code getSigningKey()}, and retrieves the token type from the token's payload.
-     * The token type is then returned as a {@link TokenType}.
+     * This method converts the secret key string to bytes and uses it to generate
+     * an HMAC SHA key using the Keys class from the JJWT library. The id of the key is
+     * derived from the SHA-256 digest of the secret key, so every instance of the
+     * application assigns the same id to the same key without revealing it.
      *
-     * @param token The JWT token from which to retrieve the token type.
-     * @return The token type extracted from the JWT token as a {@link TokenType}.
-     * @throws JwtException             Thrown if an error occurs during parsing or verification of the token.
-     * @throws IllegalArgumentException Thrown if the token is invalid or malformed.
+     * @param secretKey The secret key string.
+     * @return The signing key with its id.
      */
-    @Override
-    public TokenType getTokenType(String token) {
-        return TokenType.valueOf(Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("token_type", String.class));
+    private SigningKey createSigningKey(String secretKey) {
+        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+            String id = Encoders.BASE64URL.encode(Arrays.copyOf(digest, 8));
+            return new SigningKey(id, Keys.hmacShaKeyFor(keyBytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record SigningKey(String id, SecretKey key) {
     }
 
     /**
-     * Retrieves the signing key for JWT token generation.
+     * Expiration policy of the verified tokens cache.
      * <p>
-     * This method converts the secret key string to bytes and uses it to generate
-     * an HMAC SHA key using the Keys class from the JJWT library. The generated
-     * key is then returned as a {@link SecretKey}.
-     *
-     * @return The signing key for JWT token generation.
+     * A cached entry expires at the same moment as its token, and reading or replacing
+     * the entry does not extend its lifetime.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String token, JwtClaims claims, long currentTime) {
+            return Math.max(Duration.between(Instant.now(), claims.expiration()).toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
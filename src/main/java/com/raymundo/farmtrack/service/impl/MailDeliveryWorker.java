@@ -0,0 +1,50 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.service.MailService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Worker delivering the emails stored in the mail outbox.
+ * <p>
+ * The worker polls the {@link MailService} for pending emails on its own thread, which is
+ * not shared with the scheduled jobs of the application, so a slow mail server never delays
+ * them. The thread is not exposed as a bean, so it does not replace the task executor or the
+ * task scheduler configured by Spring Boot. Polling starts once the application is ready, and
+ * a failed run is logged by the scheduler and retried after the poll interval.
+ *
+ * @author RaymundoZ
+ */
+@Component
+public class MailDeliveryWorker implements DisposableBean {
+
+    private final MailService mailService;
+    private final Duration pollInterval;
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public MailDeliveryWorker(MailService mailService,
+                              @Value(value = "${mail-service.poll-interval}") Duration pollInterval) {
+        this.mailService = mailService;
+        this.pollInterval = pollInterval;
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(1);
+        this.scheduler.setThreadNamePrefix("mail-delivery-");
+        this.scheduler.initialize();
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(mailService::deliverPendingMails, pollInterval);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,129 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.entity.MailOutboxEntity;
+import com.raymundo.farmtrack.repository.MailOutboxRepository;
+import com.raymundo.farmtrack.service.MailService;
+import com.raymundo.farmtrack.util.enumeration.MailStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of the {@link MailService} interface for sending emails.
+ * <p>
+ * This service does not talk to the mail server when an email is sent. Instead, the email is
+ * stored in the mail outbox, and the pending emails are later delivered in batches by the
+ * {@link MailDeliveryWorker}. Failed deliveries are retried with an exponential backoff until
+ * the maximum number of attempts is reached, so neither the latency nor the failures of the
+ * mail server affect the code sending the emails.
+ * <p>
+ * The emails are claimed in a short transaction and sent outside of it, so no database
+ * connection or row lock is held while the mail server is being talked to. A claimed email is
+ * not due again until the claim timeout passes, which lets another instance of the application
+ * deliver it if the instance that claimed it stops before recording the outcome. The claim
+ * timeout must therefore be longer than sending a whole batch can take with the SMTP timeouts.
+ *
+ * @author RaymundoZ
+ */
+@Service
+@RequiredArgsConstructor
+public class MailServiceImpl implements MailService {
+
+    @Value(value = "${mail-service.batch-size}")
+    private int batchSize;
+
+    @Value(value = "${mail-service.max-attempts}")
+    private int maxAttempts;
+
+    @Value(value = "${mail-service.initial-backoff}")
+    private Duration initialBackoff;
+
+    @Value(value = "${mail-service.max-backoff}")
+    private Duration maxBackoff;
+
+    @Value(value = "${mail-service.claim-timeout}")
+    private Duration claimTimeout;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+
+    /**
+     * Sends an email.
+     * <p>
+     * This method stores the email in the mail outbox with the pending status, so that it is
+     * delivered by the next run of {@link #deliverPendingMails()}. If called within a transaction,
+     * the email is stored only if the transaction is committed.
+     *
+     * @param recipient The email address of the recipient.
+     * @param subject   The subject of the email.
+     * @param text      The text of the email.
+     */
+    @Override
+    @Transactional
+    public void sendMail(String recipient, String subject, String text) {
+        MailOutboxEntity mail = new MailOutboxEntity();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setText(text);
+        mail.setStatus(MailStatus.PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptAt(LocalDateTime.now());
+        mailOutboxRepository.save(mail);
+    }
+
+    /**
+     * Delivers the pending emails.
+     * <p>
+     * This method claims a batch of pending emails whose next attempt is due, skipping the emails
+     * claimed concurrently by other instances of the application, and counts the attempt. The
+     * emails are then sent one by one, and the outcome of every email is saved separately. A sent
+     * email is marked with the sent status. If sending fails for any reason, the error is recorded
+     * and the next attempt is postponed by a backoff that doubles with every attempt, up to the
+     * maximum backoff. Once the maximum number of attempts is reached, the email is marked with
+     * the failed status and is not retried anymore.
+     *
+     * @return The number of emails processed.
+     */
+    @Override
+    public int deliverPendingMails() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxEntity> mails = mailOutboxRepository.claimAllDue(now, now.plus(claimTimeout), batchSize);
+        for (MailOutboxEntity mail : mails) {
+            try {
+                SimpleMailMessage message = new SimpleMailMessage();
+                message.setTo(mail.getRecipient());
+                message.setSubject(mail.getSubject());
+                message.setText(mail.getText());
+                mailSender.send(message);
+                mail.setStatus(MailStatus.SENT);
+                mail.setLastError(null);
+            } catch (RuntimeException e) {
+                mail.setLastError(e.getMessage());
+                if (mail.getAttempts() >= maxAttempts)
+                    mail.setStatus(MailStatus.FAILED);
+                else
+                    mail.setNextAttemptAt(LocalDateTime.now().plus(getBackoff(mail.getAttempts())));
+            }
+            mailOutboxRepository.save(mail);
+        }
+        return mails.size();
+    }
+
+    /**
+     * Calculates the backoff before the next delivery attempt.
+     *
+     * @param attempts The number of attempts already made.
+     * @return The initial backoff doubled for every attempt after the first one, but not more than the maximum backoff.
+     */
+    private Duration getBackoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,66 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.service.PasswordHashingService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the {@link PasswordHashingService} interface for encoding passwords.
+ * <p>
+ * Passwords are encoded with the shared {@link PasswordEncoder} bean on a pool of its own,
+ * so the encoder is configured in one place, and encoding many passwords at once, for example
+ * when many users are registered, never takes more threads than the pool has, however many
+ * requests are waiting for it. Unless the number of threads is configured, the pool has a
+ * thread for every available processor, so a batch of passwords is encoded on all cores at
+ * once. The pool is not exposed as a bean, so it does not replace the task executor
+ * configured by Spring Boot. Tasks run with the security context of the thread
+ * that submitted them, so work continued on the pool thread, such as saving a user, is still
+ * audited with the current user. When the queue of the pool is full, new tasks are rejected
+ * right away instead of waiting.
+ *
+ * @author RaymundoZ
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService, DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      @Value(value = "${password-encoder.hashing.threads}") int threads,
+                                      @Value(value = "${password-encoder.hashing.queue-capacity}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("password-hashing-");
+        this.executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        this.executor.initialize();
+    }
+
+    /**
+     * Encodes a password on the hashing pool.
+     *
+     * @param rawPassword The password to encode.
+     * @return A future completed with the encoded password on a thread of the hashing pool.
+     * @throws TaskRejectedException Thrown when the queue of the hashing pool is full.
+     */
+    @Override
+    public CompletableFuture<String> encode(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,23 +1,35 @@
 package com.raymundo.farmtrack.service.impl;
 
 import com.raymundo.farmtrack.dto.ProductDto;
+import com.raymundo.farmtrack.dto.basic.PageDto;
 import com.raymundo.farmtrack.entity.ProductEntity;
 import com.raymundo.farmtrack.entity.ReportEntity;
 import com.raymundo.farmtrack.mapper.ProductMapper;
+import com.raymundo.farmtrack.repository.DailyReportRepository;
+import com.raymundo.farmtrack.repository.HarvestProgressRepository;
 import com.raymundo.farmtrack.repository.ProductRepository;
 import com.raymundo.farmtrack.repository.ReportRepository;
 import com.raymundo.farmtrack.service.ProductService;
+import com.raymundo.farmtrack.util.Pagination;
+import com.raymundo.farmtrack.util.cache.CacheInvalidator;
 import com.raymundo.farmtrack.util.exception.NotFoundException;
+import com.raymundo.farmtrack.util.exception.PageException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static com.raymundo.farmtrack.util.Constants.PRODUCTS_CACHE;
+
 /**
  * Implementation of the {@link ProductService} interface for managing products.
  * <p>
  * This service provides methods for registering, deleting, and retrieving products.
  * It interacts with the product repository to perform CRUD operations on product entities.
+ * Products looked up by name are cached by the product repository, so every change of a product
+ * is published with {@link CacheInvalidator} to drop it from the cache of every instance.
  *
  * @author RaymundoZ
  */
@@ -27,7 +39,10 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final ReportRepository reportRepository;
+    private final DailyReportRepository dailyReportRepository;
+    private final HarvestProgressRepository harvestProgressRepository;
     private final ProductMapper productMapper;
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * Registers a new product.
@@ -35,14 +50,19 @@ public class ProductServiceImpl implements ProductService {
      * This method converts the provided {@link ProductDto} object to a {@link ProductEntity},
      * saves it using the product repository, and then converts the saved entity back to a
      * {@link ProductDto} object. The resulting DTO represents the registered product information.
+     * The product is published to the other instances, which drop it from their cache once
+     * the transaction commits.
      *
      * @param product A {@link ProductDto} object containing the product information to register.
      * @return A {@link ProductDto} object representing the registered product information.
      */
     @Override
+    @Transactional
     public ProductDto registerProduct(ProductDto product) {
         ProductEntity productEntity = productMapper.toEntity(product);
-        return productMapper.toDto(productRepository.save(productEntity));
+        ProductEntity saved = productRepository.save(productEntity);
+        cacheInvalidator.publish(PRODUCTS_CACHE, saved.getName());
+        return productMapper.toDto(saved);
     }
 
     /**
@@ -50,8 +70,11 @@ public class ProductServiceImpl implements ProductService {
      * <p>
      * This method retrieves the product entity associated with the provided product name
      * from the product repository. If the product is not found, a {@link NotFoundException}
-     * is thrown indicating that the product was not found. Otherwise, the product entity
-     * is deleted from the repository. The deleted product entity is then converted to
+     * is thrown indicating that the product was not found. Otherwise, the product is read again
+     * by its id, since the cached entity does not hold the current amount of the product, the
+     * reports, daily reports and harvest progress of the product are removed, and the product entity
+     * is deleted from the repository and published to the other instances, which drop it from their
+     * cache once the transaction commits. The deleted product entity is then converted to
      * a {@link ProductDto} object and returned.
      *
      * @param productName The name of the product to be deleted.
@@ -59,26 +82,47 @@ public class ProductServiceImpl implements ProductService {
      * @throws NotFoundException Thrown when the product with the specified name is not found.
      */
     @Override
+    @Transactional
     public ProductDto deleteProduct(String productName) {
-        ProductEntity product = productRepository.findByName(productName).orElseThrow(() ->
-                NotFoundException.Code.PRODUCT_NOT_FOUND.get(productName));
+        ProductEntity product = productRepository.findByName(productName)
+                .flatMap(cached -> productRepository.findById(cached.getId()))
+                .orElseThrow(() -> NotFoundException.Code.PRODUCT_NOT_FOUND.get(productName));
         List<ReportEntity> reports = reportRepository.findAllByProduct(product);
         reportRepository.deleteAll(reports);
+        dailyReportRepository.deleteAllByProduct(product);
+        harvestProgressRepository.deleteAllByProduct(product);
         productRepository.delete(product);
+        cacheInvalidator.publish(PRODUCTS_CACHE, productName);
         return productMapper.toDto(product);
     }
 
     /**
-     * Retrieves a list of all products.
+     * Retrieves a page of products.
      * <p>
-     * This method retrieves all product entities from the product repository and maps them
-     * to {@link ProductDto} objects using {@link ProductMapper}. The resulting list of
-     * product DTOs is returned.
+     * This method reads the products ordered by creation date and id from the product repository,
+     * starting right after the row the provided cursor points to, or from the first row if no
+     * cursor is provided. Only the rows of the requested page are read, so the cost of a page does
+     * not depend on its position. The entities are mapped to {@link ProductDto} objects using
+     * {@link ProductMapper} and returned together with the cursor of the next page, which is {@code null}
+     * on the last page.
      *
-     * @return A list of {@link ProductDto} objects representing all products.
+     * @param cursor The cursor of the page returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of products on the page.
+     * @return A {@link PageDto} object containing the products of the page and the cursor of the next page.
+     * @throws PageException Thrown when the cursor or the page size is not valid.
      */
     @Override
-    public List<ProductDto> getAllProducts() {
-        return productRepository.findAll().stream().map(productMapper::toDto).toList();
+    public PageDto<ProductDto> getAllProducts(String cursor, int size) {
+        Pagination.Cursor after = Pagination.decode(cursor);
+        Limit limit = Pagination.limit(size);
+        List<ProductEntity> rows = after == null
+                ? productRepository.findPage(limit)
+                : productRepository.findPageAfter(after.date(), after.id(), limit);
+        return Pagination.toPage(
+                rows,
+                limit,
+                product -> new Pagination.Cursor(product.getCreatedDate(), product.getId()),
+                productMapper::toDto
+        );
     }
 }
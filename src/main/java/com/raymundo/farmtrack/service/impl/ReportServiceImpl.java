@@ -5,38 +5,52 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.raymundo.farmtrack.dto.ReportDto;
 import com.raymundo.farmtrack.dto.StatisticsDto;
 import com.raymundo.farmtrack.dto.StatisticsItemDto;
-import com.raymundo.farmtrack.entity.HarvestRateEntity;
+import com.raymundo.farmtrack.dto.StatisticsRowDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
 import com.raymundo.farmtrack.entity.ProductEntity;
 import com.raymundo.farmtrack.entity.ReportEntity;
 import com.raymundo.farmtrack.entity.UserEntity;
 import com.raymundo.farmtrack.mapper.ReportMapper;
-import com.raymundo.farmtrack.repository.HarvestRateRepository;
+import com.raymundo.farmtrack.repository.DailyReportRepository;
+import com.raymundo.farmtrack.repository.HarvestProgressRepository;
 import com.raymundo.farmtrack.repository.ProductRepository;
 import com.raymundo.farmtrack.repository.ReportRepository;
 import com.raymundo.farmtrack.repository.UserRepository;
+import com.raymundo.farmtrack.repository.projection.StatisticsProjection;
+import com.raymundo.farmtrack.service.MailService;
 import com.raymundo.farmtrack.service.ReportService;
+import com.raymundo.farmtrack.util.cache.HarvestRateCache;
+import com.raymundo.farmtrack.util.enumeration.ExportFormat;
 import com.raymundo.farmtrack.util.exception.NotFoundException;
+import com.raymundo.farmtrack.util.lock.AdvisoryLock;
+import com.raymundo.farmtrack.util.validation.BatchItemValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.raymundo.farmtrack.util.Constants.ROLLUP_LOCK;
 
 /**
  * Implementation of the {@link ReportService} interface for managing reports.
  * <p>
  * This service provides methods for creating reports, retrieving general and user-specific
- * statistics, and sending daily farm statistics emails to the admin. It interacts with
- * the report repository, product repository, user repository, and harvest rate repository
- * to perform CRUD operations on report entities and retrieve relevant data for statistics.
+ * statistics, and sending daily farm statistics emails to the admin through the mail outbox. It interacts with
+ * the report repository, product repository, and user repository to perform CRUD operations
+ * on report entities, and reads the harvest rates of the current date from the {@link HarvestRateCache}. Statistics are read from the daily report
+ * repository, which holds per-day totals maintained alongside the reports.
  *
  * @author RaymundoZ
  */
@@ -44,17 +58,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    private static final String SCHEDULER_AUDITOR = "scheduler";
+
     @Value(value = "${report-service.admin-email}")
     private String adminEmail;
 
     private final SecurityContextHolderStrategy holderStrategy;
     private final ReportRepository reportRepository;
+    private final DailyReportRepository dailyReportRepository;
+    private final HarvestProgressRepository harvestProgressRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
-    private final HarvestRateRepository harvestRateRepository;
+    private final HarvestRateCache harvestRateCache;
     private final ReportMapper reportMapper;
-    private final JavaMailSender mailSender;
+    private final MailService mailService;
+    private final AdvisoryLock advisoryLock;
     private final ObjectMapper objectMapper;
+    private final BatchItemValidator batchItemValidator;
 
     /**
      * Creates a new report.
@@ -62,46 +82,164 @@ public class ReportServiceImpl implements ReportService {
      * This method retrieves the product entity associated with the provided product name
      * from the product repository. If the product is not found, a {@link NotFoundException}
      * is thrown indicating that the product was not found. It then checks if a harvest rate
-     * entry for the current date and the specified product exists in the harvest rate repository.
-     * If an entry exists, it calculates the remaining rate left for reporting. The method also
-     * updates the product's amount based on the reported amount. The report entity is then created
+     * for the current date and the specified product exists in the cached harvest rates of the
+     * current date, so no query is made for it. If a rate exists, it calculates the remaining rate left for reporting from the running
+     * total of the product for the current date, which is increased by the reported amount and
+     * returned by a single upsert, so no reports are summed. The method also
+     * increases the product's amount by the reported amount with a single atomic update, so
+     * concurrent reports for the same product never lose each other's amounts. The report entity is then created
      * based on the provided report information, and it's associated with the user who created the report
-     * and the product involved. The report entity is saved using the report repository, and the
-     * resulting report information is converted to a {@link ReportDto} object and returned.
+     * and the product involved. The report entity is saved using the report repository, and its
+     * amount is added to the daily report of the user and the product. The resulting report
+     * information is converted to a {@link ReportDto} object and returned.
      *
      * @param report A {@link ReportDto} object containing the report information.
      * @return A {@link ReportDto} object representing the created report.
      * @throws NotFoundException Thrown when the product with the specified name is not found.
      */
     @Override
+    @Transactional
     public ReportDto createReport(ReportDto report) {
+        LocalDate today = LocalDate.now();
         ProductEntity product = productRepository.findByName(report.product())
                 .orElseThrow(() -> NotFoundException.Code.PRODUCT_NOT_FOUND.get(report.product()));
-        Optional<HarvestRateEntity> optional = harvestRateRepository.findByDateAndProduct(LocalDate.now(), product);
-        product.setAmount(product.getAmount() + report.amount());
+        Integer rate = harvestRateCache.getRates(today).get(product.getId());
+        productRepository.addAmount(product.getId(), report.amount());
         UserEntity user = (UserEntity) holderStrategy.getContext().getAuthentication().getPrincipal();
         ReportEntity reportEntity = reportMapper.toEntity(report);
         reportEntity.setUser(user);
-        reportEntity.setProduct(productRepository.save(product));
-        int amount;
-        if (optional.isPresent()) {
-            HarvestRateEntity harvestRate = optional.get();
-            amount = Math.max(harvestRate.getRate() - reportRepository.sumAmountByProductAndCreatedDate(product, LocalDate.now()) - report.amount(), 0);
-        } else amount = 0;
-        reportEntity.setRateLeft(amount);
-        return reportMapper.toDto(reportRepository.save(reportEntity));
+        reportEntity.setProduct(product);
+        int reported = harvestProgressRepository.addAmount(today, product.getId(), report.amount(), user.getEmail());
+        reportEntity.setRateLeft(rate == null ? 0 : Math.max(rate - reported, 0));
+        ReportEntity saved = reportRepository.save(reportEntity);
+        dailyReportRepository.addReports(
+                saved.getCreatedDate(),
+                product.getId(),
+                user.getId(),
+                saved.getAmount(),
+                1,
+                user.getEmail()
+        );
+        return reportMapper.toDto(saved);
+    }
+
+    /**
+     * Creates several reports at once.
+     * <p>
+     * This method validates every report on its own, so an invalid report does not reject the
+     * whole batch, resolves the products of the valid reports with one query and reads the harvest
+     * rates of the current date from the {@link HarvestRateCache}. Invalid reports and reports
+     * referring to an unknown product are not created and are returned with an error message. For
+     * every other product, its amount and its running total for the current date are atomically
+     * increased once by the amount of the whole batch. The products are updated in the order of
+     * their ids, whatever the order of the reports is, so concurrent batches lock the same rows
+     * in the same order and never deadlock each other. The rate left is then computed in the
+     * original order of the reports, so each report sees the amounts of the reports preceding
+     * it in the batch. All reports are saved within a single transaction using JDBC batching,
+     * and the daily report of the user is increased once per product by the reports saved on
+     * the same date, which is the creation date of the reports, as for a single report.
+     * The result contains an item for every report of the batch, holding either the created
+     * report or the error message.
+     *
+     * @param reports A list of {@link ReportDto} objects containing the reports information.
+     * @return A list of {@link BatchItemDto} objects representing the result of each report.
+     */
+    @Override
+    @Transactional
+    public List<BatchItemDto<ReportDto>> createReports(List<ReportDto> reports) {
+        LocalDate today = LocalDate.now();
+        UserEntity user = (UserEntity) holderStrategy.getContext().getAuthentication().getPrincipal();
+        String[] errors = new String[reports.size()];
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < reports.size(); i++) {
+            errors[i] = batchItemValidator.validate(reports.get(i));
+            if (errors[i] == null)
+                names.add(reports.get(i).product());
+        }
+        Map<String, ProductEntity> products = names.isEmpty() ? Map.of() : productRepository.findAllByNameIn(names).stream()
+                .collect(Collectors.toMap(ProductEntity::getName, Function.identity()));
+        Map<UUID, Integer> rates = harvestRateCache.getRates(today);
+        Map<UUID, Integer> added = new TreeMap<>();
+        ReportEntity[] created = new ReportEntity[reports.size()];
+        for (int i = 0; i < reports.size(); i++) {
+            if (errors[i] != null)
+                continue;
+            ReportDto report = reports.get(i);
+            ProductEntity product = products.get(report.product());
+            if (product == null) {
+                errors[i] = NotFoundException.Code.PRODUCT_NOT_FOUND.get(report.product()).getMessage();
+                continue;
+            }
+            added.merge(product.getId(), report.amount(), Integer::sum);
+            ReportEntity reportEntity = reportMapper.toEntity(report);
+            reportEntity.setUser(user);
+            reportEntity.setProduct(product);
+            created[i] = reportEntity;
+        }
+        Map<UUID, Integer> reported = new HashMap<>();
+        added.forEach((productId, amount) -> {
+            productRepository.addAmount(productId, amount);
+            int total = harvestProgressRepository.addAmount(today, productId, amount, user.getEmail());
+            reported.put(productId, total - amount);
+        });
+        for (ReportEntity reportEntity : created) {
+            if (reportEntity == null)
+                continue;
+            UUID productId = reportEntity.getProduct().getId();
+            int total = reported.merge(productId, reportEntity.getAmount(), Integer::sum);
+            Integer rate = rates.get(productId);
+            reportEntity.setRateLeft(rate == null ? 0 : Math.max(rate - total, 0));
+        }
+        List<ReportEntity> saved = reportRepository.saveAll(Arrays.stream(created).filter(Objects::nonNull).toList());
+        addDailyReports(saved, user);
+        List<BatchItemDto<ReportDto>> results = new ArrayList<>(reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            if (created[i] == null)
+                results.add(new BatchItemDto<>(i, null, errors[i]));
+            else
+                results.add(new BatchItemDto<>(i, reportMapper.toDto(created[i]), null));
+        }
+        return results;
+    }
+
+    /**
+     * Adds saved reports of a user to the daily reports.
+     * <p>
+     * The reports are grouped by product and creation date, and every daily report is increased
+     * once by the amount and the number of its reports. The daily reports are updated in the
+     * order of the product ids and dates.
+     *
+     * @param reports The saved reports.
+     * @param user    The user who created the reports.
+     */
+    private void addDailyReports(List<ReportEntity> reports, UserEntity user) {
+        Map<UUID, Map<LocalDate, int[]>> daily = new TreeMap<>();
+        for (ReportEntity report : reports) {
+            int[] totals = daily.computeIfAbsent(report.getProduct().getId(), productId -> new TreeMap<>())
+                    .computeIfAbsent(report.getCreatedDate(), date -> new int[2]);
+            totals[0] += report.getAmount();
+            totals[1]++;
+        }
+        daily.forEach((productId, dates) -> dates.forEach((date, totals) -> dailyReportRepository.addReports(
+                date,
+                productId,
+                user.getId(),
+                totals[0],
+                totals[1],
+                user.getEmail()
+        )));
     }
 
     /**
      * Retrieves general statistics based on the provided date range.
      * <p>
-     * This method retrieves all report entities within the specified date range from the
-     * report repository. It then calculates and aggregates statistics based on the reports,
-     * grouping them by user email, product name, and measure. The resulting statistics are
-     * encapsulated in {@link StatisticsDto} objects containing user email and a list of
-     * {@link StatisticsItemDto} objects representing product statistics. The list is sorted
-     * based on the number of reported items per user email. Finally, the list of statistics
-     * DTOs is returned.
+     * This method asks the daily report repository to aggregate the reported amounts within
+     * the specified date range, grouped by user email, product name, and measure. The
+     * aggregation is performed by the database over the per-day totals, so individual
+     * report entities are never loaded. The resulting rows are then grouped by user email and encapsulated in
+     * {@link StatisticsDto} objects containing user email and a list of
+     * {@link StatisticsItemDto} objects representing product statistics. The list is
+     * sorted by user email, and the items of each user are sorted by product name.
      *
      * @param statisticsDto A {@link StatisticsDto} object containing the start and end dates
      *                      for the statistics retrieval.
@@ -109,32 +247,28 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public List<StatisticsDto> getGeneralStatistics(StatisticsDto statisticsDto) {
-        List<ReportEntity> reports = reportRepository.findAllByCreatedDateBetween(
+        List<StatisticsProjection> rows = dailyReportRepository.sumAmountGroupByUserAndProduct(
                 statisticsDto.startDate().minusDays(1),
                 statisticsDto.endDate().plusDays(1)
         );
-        return getSortedMap(reports).entrySet().stream()
-                .map(entry1 -> new StatisticsDto(
+        return getSortedMap(rows).entrySet().stream()
+                .map(entry -> new StatisticsDto(
                         null,
                         null,
-                        entry1.getKey().getEmail(),
-                        entry1.getValue().entrySet().stream()
-                                .map(entry2 -> new StatisticsItemDto(
-                                        entry2.getKey().getName(),
-                                        entry2.getValue(),
-                                        entry2.getKey().getMeasure()
-                                )).toList()
+                        entry.getKey(),
+                        entry.getValue()
                 )).toList();
     }
 
     /**
      * Retrieves statistics for a specific user based on the provided date range.
      * <p>
-     * This method retrieves general statistics for the specified date range using the
-     * {@link #getGeneralStatistics(StatisticsDto)} method. It then filters the statistics
-     * by the provided user email and returns the statistics for that user encapsulated in
-     * a {@link StatisticsDto} object. If no statistics are found for the user within the
-     * specified date range, a default empty statistics object with the user's email is returned.
+     * This method retrieves the user entity associated with the provided email address from
+     * the user repository. It then asks the daily report repository to aggregate the amounts
+     * reported by that user only within the specified date range, grouped by product, so the
+     * cost of the query does not depend on the number of other users. The statistics are
+     * returned encapsulated in a {@link StatisticsDto} object. If no statistics are found for
+     * the user within the specified date range, the list of statistics items is empty.
      *
      * @param statisticsDto A {@link StatisticsDto} object containing the start and end dates
      *                      for the statistics retrieval.
@@ -146,66 +280,191 @@ public class ReportServiceImpl implements ReportService {
     public StatisticsDto getStatisticsByUser(StatisticsDto statisticsDto, String user) {
         UserEntity entity = userRepository.findByEmail(user).orElseThrow(() ->
                 NotFoundException.Code.USER_NOT_FOUND.get(user));
-        return getGeneralStatistics(statisticsDto).stream()
-                .filter(stat -> stat.user().equals(user))
-                .findAny().orElse(new StatisticsDto(
-                        null,
-                        null,
-                        entity.getEmail(),
-                        List.of()
-                ));
+        List<StatisticsItemDto> items = dailyReportRepository.sumAmountByUserGroupByProduct(
+                        entity,
+                        statisticsDto.startDate().minusDays(1),
+                        statisticsDto.endDate().plusDays(1)
+                ).stream()
+                .map(ReportServiceImpl::toStatisticsItem)
+                .toList();
+        return new StatisticsDto(
+                null,
+                null,
+                entity.getEmail(),
+                items
+        );
+    }
+
+    /**
+     * Exports general statistics based on the provided date range.
+     * <p>
+     * This method streams the reported amounts within the specified date range, grouped by
+     * user email, product name, and measure, from the daily report repository and writes every
+     * row to the provided output stream as soon as it is read, in the requested {@link ExportFormat}.
+     * The rows are fetched from the database in chunks within a read-only transaction, so the
+     * memory used does not depend on the size of the date range. Rows are sorted by user email
+     * and product name. In the {@link ExportFormat#NDJSON} format every row is written as a
+     * separate JSON object, and in the {@link ExportFormat#CSV} format the rows are preceded by
+     * a header line.
+     *
+     * @param statisticsDto A {@link StatisticsDto} object containing the start and end dates
+     *                      for the statistics export.
+     * @param format        The {@link ExportFormat} the statistics are written in.
+     * @param outputStream  The {@link OutputStream} the statistics are written to.
+     * @throws IOException Thrown if an error occurs while writing to the output stream.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportGeneralStatistics(StatisticsDto statisticsDto, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV)
+            writer.write("user,product,amount,measure\n");
+        try (Stream<StatisticsProjection> rows = dailyReportRepository.streamAmountGroupByUserAndProduct(
+                statisticsDto.startDate().minusDays(1),
+                statisticsDto.endDate().plusDays(1)
+        )) {
+            Iterator<StatisticsProjection> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                StatisticsProjection row = iterator.next();
+                StatisticsRowDto dto = new StatisticsRowDto(
+                        row.getEmail(),
+                        row.getProduct(),
+                        row.getAmount().intValue(),
+                        row.getMeasure()
+                );
+                writer.write(format == ExportFormat.CSV ? toCsvLine(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
     }
 
     /**
      * Sends daily farm statistics email.
      * <p>
      * This method is scheduled to run every weekday (Monday to Friday) at 8:00 PM
-     * (scheduled using a cron expression). It constructs a {@link SimpleMailMessage}
-     * containing the daily farm report statistics retrieved using {@link #getGeneralStatistics(StatisticsDto)}.
-     * The report is sent to the admin email address specified in the application properties.
+     * (scheduled using a cron expression). It serializes the daily farm report statistics
+     * retrieved using {@link #getGeneralStatistics(StatisticsDto)} and passes them to the
+     * {@link MailService}, addressed to the admin email address specified in the application
+     * properties. The email is stored in the mail outbox and delivered asynchronously, so the
+     * scheduler thread does not wait for the mail server, and the email is retried if the
+     * delivery fails.
      *
      * @throws RuntimeException Thrown if an error occurs during JSON serialization of the statistics.
      */
     @Override
     @Scheduled(cron = "0 0 20 ? * MON,TUE,WED,THU,FRI")
     public void sendStatisticsEmail() {
-        SimpleMailMessage message = new SimpleMailMessage();
         StatisticsDto statistics = new StatisticsDto(
                 LocalDate.now(),
                 LocalDate.now(),
                 null,
                 null
         );
-        message.setTo(adminEmail);
-        message.setSubject("Daily farm report");
         try {
-            message.setText(objectMapper.writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(getGeneralStatistics(statistics)));
+            mailService.sendMail(
+                    adminEmail,
+                    "Daily farm report",
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(getGeneralStatistics(statistics))
+            );
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
-        mailSender.send(message);
+    }
+
+    /**
+     * Rebuilds the daily reports of the previous day from the reports.
+     * <p>
+     * This method is scheduled to run every day at 3:00 AM (scheduled using a cron expression).
+     * It removes the daily reports of the previous day and recalculates them from the reports
+     * of that day within a single transaction, so any drift between the reports of the day and
+     * their totals is corrected, and readers keep seeing the previous totals until the rebuild
+     * is committed. Reports are always created for the current date, so by then no report can
+     * be added to the rebuilt day anymore. The rebuild holds the rollup advisory lock, so the
+     * instances of the application running the job at the same time rebuild the day one after
+     * another, and it never overlaps with the reconciliation of the harvest progress.
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "0 0 3 * * *")
+    public void rebuildDailyReports() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        advisoryLock.lock(ROLLUP_LOCK);
+        dailyReportRepository.deleteAllByDate(yesterday);
+        dailyReportRepository.insertAllFromReports(yesterday, SCHEDULER_AUDITOR);
+    }
+
+    /**
+     * Reconciles the harvest progress with the reports.
+     * <p>
+     * This method runs once the application is ready and every day at midnight (scheduled
+     * using a cron expression). It removes the running totals of the previous days, which are
+     * never read again, and recalculates the totals of the current date from the report table
+     * within a single transaction. The recalculated total of a product only replaces a smaller
+     * running total, so a report created concurrently, whose amount is already added to the
+     * running total but is not yet visible to the recalculation, is never lost, while a total
+     * missing some of the reports is corrected. The reconciliation holds the rollup advisory
+     * lock, so the instances of the application starting at the same time reconcile one after
+     * another, and it never overlaps with the rebuild of the daily reports.
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "0 0 0 * * *")
+    @EventListener(value = ApplicationReadyEvent.class)
+    public void reconcileHarvestProgress() {
+        LocalDate today = LocalDate.now();
+        advisoryLock.lock(ROLLUP_LOCK);
+        harvestProgressRepository.deleteAllByDateBefore(today);
+        harvestProgressRepository.insertAllFromReports(today, SCHEDULER_AUDITOR);
     }
 
     /**
      * Creates a sorted map of user-product statistics.
      * <p>
-     * This method takes a list of report entities and aggregates the statistics by
-     * grouping them first by user and then by product. The result is a map where each
-     * user entity is associated with a map of product entities and their corresponding
-     * reported amounts. The map is sorted based on the number of reported items per user.
+     * This method takes a list of aggregated statistics rows and groups them by user email.
+     * The result is a map where each user email is associated with a list of
+     * {@link StatisticsItemDto} objects representing the reported amount of each product.
+     * The map preserves the order of the rows, which are sorted by the repository query.
      *
-     * @param reports A list of {@link ReportEntity} objects containing the reported statistics.
+     * @param rows A list of {@link StatisticsProjection} objects containing the aggregated statistics.
      * @return A sorted map of user-product statistics.
      */
-    private Map<UserEntity, Map<ProductEntity, Integer>> getSortedMap(List<ReportEntity> reports) {
-        return reports.stream()
+    private Map<String, List<StatisticsItemDto>> getSortedMap(List<StatisticsProjection> rows) {
+        return rows.stream()
                 .collect(Collectors.groupingBy(
-                        ReportEntity::getUser,
-                        Collectors.groupingBy(
-                                ReportEntity::getProduct,
-                                Collectors.summingInt(ReportEntity::getAmount)
-                        )
+                        StatisticsProjection::getEmail,
+                        LinkedHashMap::new,
+                        Collectors.mapping(ReportServiceImpl::toStatisticsItem, Collectors.toList())
                 ));
     }
+
+    /**
+     * Converts a statistics row to a CSV line.
+     * <p>
+     * Values containing a comma, a double quote or a line break are enclosed in double quotes,
+     * and the double quotes inside them are doubled.
+     *
+     * @param row A {@link StatisticsRowDto} object containing the statistics row.
+     * @return A CSV line representing the statistics row, without the line break.
+     */
+    private String toCsvLine(StatisticsRowDto row) {
+        return Stream.of(row.user(), row.product(), row.amount(), row.measure())
+                .map(String::valueOf)
+                .map(value -> value.matches("(?s).*[,\"\r\n].*") ? "\"" + value.replace("\"", "\"\"") + "\"" : value)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Converts an aggregated statistics row to a statistics item.
+     *
+     * @param row A {@link StatisticsProjection} object containing the aggregated amount of a product.
+     * @return A {@link StatisticsItemDto} object representing the product statistics.
+     */
+    private static StatisticsItemDto toStatisticsItem(StatisticsProjection row) {
+        return new StatisticsItemDto(
+                row.getProduct(),
+                row.getAmount().intValue(),
+                row.getMeasure()
+        );
+    }
 }
@@ -10,8 +10,20 @@ public class Constants {
     public static final String PRODUCT_NAME_UNIQUE_MESSAGE = "This name is already taken";
     public static final String USER_EMAIL_UNIQUE_MESSAGE = "This email is already taken";
     public static final String ENUM_VALID_MESSAGE = "Enum should be valid";
+    public static final String NOT_EMPTY_MESSAGE = "Value should not be empty";
+    public static final String MAX_BATCH_SIZE_MESSAGE = "Batch should not contain more than 500 items";
     public static final String ACCESS_TOKEN = "access_token";
     public static final String REFRESH_TOKEN = "refresh_token";
+    public static final String USERS_CACHE = "users";
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String HARVEST_RATES_CACHE = "harvest_rates";
+    public static final String CACHE_CHANNEL = "cache_invalidation";
+    public static final String AUTH_OBSERVATION = "jwt.authentication";
+    public static final String AUTH_STAGE_OBSERVATION = "jwt.authentication.stage";
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final long ROLLUP_LOCK = 1;
+    public static final String DEFAULT_PAGE_SIZE = "50";
+    public static final int MAX_PAGE_SIZE = 500;
 
     private Constants() {
     }
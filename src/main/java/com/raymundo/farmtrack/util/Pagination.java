@@ -0,0 +1,95 @@
+package com.raymundo.farmtrack.util;
+
+import com.raymundo.farmtrack.dto.basic.PageDto;
+import com.raymundo.farmtrack.util.exception.PageException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.raymundo.farmtrack.util.Constants.MAX_PAGE_SIZE;
+
+/**
+ * Utility class for keyset pagination.
+ * <p>
+ * Pages are ordered by a date and an id, and every page except the last one is followed by
+ * an opaque cursor holding the date and the id of its last row. The next page is then read
+ * starting right after this row, so its cost does not depend on how deep the client pages.
+ *
+ * @author RaymundoZ
+ */
+public final class Pagination {
+
+    private static final String SEPARATOR = "_";
+
+    private Pagination() {
+    }
+
+    /**
+     * Position of a row within the ordering of a page.
+     *
+     * @param date The date of the row.
+     * @param id   The id of the row.
+     */
+    public record Cursor(LocalDate date, UUID id) {
+    }
+
+    /**
+     * Decodes the cursor received from the client.
+     *
+     * @param cursor The cursor received from the client, or {@code null} for the first page.
+     * @return The decoded {@link Cursor}, or {@code null} for the first page.
+     * @throws PageException Thrown when the cursor is not valid.
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null)
+            return null;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 2);
+            return new Cursor(LocalDate.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw PageException.Code.INVALID_CURSOR.get(cursor);
+        }
+    }
+
+    /**
+     * Returns the limit of rows to read for a page of the requested size.
+     * <p>
+     * The size is capped by {@link Constants#MAX_PAGE_SIZE}, and one more row than the size
+     * of the page is read to find out whether a next page exists.
+     *
+     * @param size The requested page size.
+     * @return The {@link Limit} of rows to read.
+     * @throws PageException Thrown when the requested page size is not positive.
+     */
+    public static Limit limit(int size) {
+        if (size <= 0)
+            throw PageException.Code.INVALID_PAGE_SIZE.get(String.valueOf(size));
+        return Limit.of(Math.min(size, MAX_PAGE_SIZE) + 1);
+    }
+
+    /**
+     * Creates a page from the rows read with the {@link #limit(int)} of the page.
+     *
+     * @param rows   The rows read, including the extra row indicating a next page.
+     * @param limit  The {@link Limit} the rows were read with.
+     * @param cursor A function returning the {@link Cursor} of a row.
+     * @param mapper A function converting a row to an item of the page.
+     * @return A {@link PageDto} object holding the items and the cursor of the next page.
+     */
+    public static <E, T> PageDto<T> toPage(List<E> rows, Limit limit, Function<E, Cursor> cursor, Function<E, T> mapper) {
+        int size = limit.max() - 1;
+        if (rows.size() <= size)
+            return new PageDto<>(rows.stream().map(mapper).toList(), null);
+        List<E> page = rows.subList(0, size);
+        Cursor last = cursor.apply(page.get(size - 1));
+        String next = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((last.date() + SEPARATOR + last.id()).getBytes(StandardCharsets.UTF_8));
+        return new PageDto<>(page.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,126 @@
+package com.raymundo.farmtrack.util.aspect;
+
+import com.raymundo.farmtrack.entity.BaseEntity;
+import com.raymundo.farmtrack.util.metrics.MetricTags;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect instrumenting the service implementations and the Spring Data repositories.
+ * <p>
+ * Every call of a public method of a {@code *ServiceImpl} class is timed in the
+ * {@code service.method.duration} timer, and every call of a repository method in the
+ * {@code repository.method.duration} timer. Both timers are tagged with the name of the class
+ * or the repository interface, the method, the endpoint of the request the call was made
+ * for, and the outcome of the call (see {@link MetricTags}), so the time of a request can be
+ * broken down into the services and the queries it consists of. The number of rows returned
+ * by a repository method is recorded in the {@code repository.method.rows} distribution
+ * summary with the same tags, except for the outcome. Rows are counted for collections,
+ * slices, optionals and single entities; streams are returned before they are read, and the
+ * results of modifying queries are not rows, so they are not counted.
+ * <p>
+ * Only calls made through the Spring proxies are instrumented, so a service method calling
+ * another method of the same service is measured as a single call.
+ *
+ * @author RaymundoZ
+ */
+@Aspect
+@Component
+@Order(value = 0)
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around(value = "execution(public * com.raymundo.farmtrack.service.impl.*ServiceImpl.*(..))")
+    public Object monitorService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return monitor(joinPoint, "service.method.duration", "service", service, false);
+    }
+
+    @Around(value = "execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object monitorRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), key ->
+                getRepositoryName(joinPoint.getThis()));
+        return monitor(joinPoint, "repository.method.duration", "repository", repository, true);
+    }
+
+    private Object monitor(ProceedingJoinPoint joinPoint, String timer, String typeTag, String type,
+                           boolean countRows) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        String endpoint = MetricTags.endpoint();
+        long start = System.nanoTime();
+        Throwable exception = null;
+        try {
+            Object result = joinPoint.proceed();
+            if (countRows)
+                countRows(result, typeTag, type, method, endpoint);
+            return result;
+        } catch (Throwable e) {
+            exception = e;
+            throw e;
+        } finally {
+            Timer.builder(timer)
+                    .tags(typeTag, type,
+                            MetricTags.METHOD, method,
+                            MetricTags.ENDPOINT, endpoint,
+                            MetricTags.OUTCOME, MetricTags.outcome(exception),
+                            MetricTags.EXCEPTION, MetricTags.exception(exception))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void countRows(Object result, String typeTag, String type, String method, String endpoint) {
+        long rows;
+        if (result instanceof Collection<?> collection)
+            rows = collection.size();
+        else if (result instanceof Slice<?> slice)
+            rows = slice.getNumberOfElements();
+        else if (result instanceof Optional<?> optional)
+            rows = optional.isPresent() ? 1 : 0;
+        else if (result instanceof BaseEntity)
+            rows = 1;
+        else
+            return;
+        DistributionSummary.builder("repository.method.rows")
+                .tags(typeTag, type,
+                        MetricTags.METHOD, method,
+                        MetricTags.ENDPOINT, endpoint)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * Finds the name of the repository interface implemented by a repository proxy.
+     *
+     * @param proxy The repository proxy.
+     * @return The simple name of the application repository interface, or of the proxy class if there is none.
+     */
+    private String getRepositoryName(Object proxy) {
+        return Arrays.stream(AopProxyUtils.proxiedUserInterfaces(proxy))
+                .filter(Repository.class::isAssignableFrom)
+                .filter(type -> !type.getPackageName().startsWith("org.springframework"))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(proxy.getClass().getSimpleName());
+    }
+}
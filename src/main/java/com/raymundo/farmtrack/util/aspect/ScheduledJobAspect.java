@@ -0,0 +1,104 @@
+package com.raymundo.farmtrack.util.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aspect instrumenting the methods annotated with {@link Scheduled}.
+ * <p>
+ * Every run of a scheduled job is timed, and the following metrics are reported per job,
+ * tagged with the name of the job:
+ * <ul>
+ *     <li>{@code scheduled.job.duration} - the duration of the runs, tagged with their outcome;</li>
+ *     <li>{@code scheduled.job.last.success} - the epoch second the last successful run finished at;</li>
+ *     <li>{@code scheduled.job.overrun} - the number of runs that did not finish before the next scheduled run;</li>
+ *     <li>{@code scheduled.job.skipped} - the number of runs skipped because the previous run was still running.</li>
+ * </ul>
+ * The aspect also guards the jobs against overlapping: a run of a job that starts while another
+ * run of the same job is in progress, for example when the job is also triggered by an event,
+ * is skipped instead of stacking up. The aspect runs before the transactional advice, so a
+ * skipped run does not open a transaction, and the measured duration includes the commit.
+ *
+ * @author RaymundoZ
+ */
+@Aspect
+@Component
+@Order(value = 0)
+@RequiredArgsConstructor
+public class ScheduledJobAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicBoolean> running = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    @Around(value = "@annotation(scheduled)")
+    public Object monitor(ProceedingJoinPoint joinPoint, Scheduled scheduled) throws Throwable {
+        String job = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        AtomicBoolean guard = running.computeIfAbsent(job, key -> new AtomicBoolean());
+        if (!guard.compareAndSet(false, true)) {
+            meterRegistry.counter("scheduled.job.skipped", "job", job).increment();
+            return null;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        String outcome = "failure";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            getLastSuccess(job).set(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+            return result;
+        } finally {
+            long duration = System.nanoTime() - startNanos;
+            Timer.builder("scheduled.job.duration")
+                    .tags("job", job, "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(duration, TimeUnit.NANOSECONDS);
+            if (isOverrun(scheduled, start, duration))
+                meterRegistry.counter("scheduled.job.overrun", "job", job).increment();
+            guard.set(false);
+        }
+    }
+
+    /**
+     * Checks whether a run of a job did not finish before the next scheduled run.
+     * <p>
+     * For cron jobs the run overruns if the next execution time after its start has already
+     * passed, and for fixed rate jobs if it took longer than the rate. Fixed delay jobs are
+     * scheduled relative to the end of the previous run, so they never overrun.
+     *
+     * @param scheduled The {@link Scheduled} annotation of the job.
+     * @param start     The time the run started at.
+     * @param duration  The duration of the run in nanoseconds.
+     * @return {@code true} if the run overran, {@code false} otherwise.
+     */
+    private boolean isOverrun(Scheduled scheduled, LocalDateTime start, long duration) {
+        if (!scheduled.cron().isEmpty() && CronExpression.isValidExpression(scheduled.cron())) {
+            LocalDateTime next = CronExpression.parse(scheduled.cron()).next(start);
+            return next != null && LocalDateTime.now().isAfter(next);
+        }
+        if (scheduled.fixedRate() > 0)
+            return duration > scheduled.timeUnit().toNanos(scheduled.fixedRate());
+        return false;
+    }
+
+    private AtomicLong getLastSuccess(String job) {
+        return lastSuccess.computeIfAbsent(job, key ->
+                meterRegistry.gauge("scheduled.job.last.success", Tags.of("job", key), new AtomicLong()));
+    }
+}
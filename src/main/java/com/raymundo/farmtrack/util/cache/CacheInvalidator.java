@@ -0,0 +1,181 @@
+package com.raymundo.farmtrack.util.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static com.raymundo.farmtrack.util.Constants.CACHE_CHANNEL;
+
+/**
+ * Keeps the caches of every running instance in line with the database.
+ * <p>
+ * The caches are local to an instance, so when cached data is changed, the other instances
+ * have to drop their copy of it as well. The instance changing the data publishes the name of
+ * the cache and the key of the entry with {@code pg_notify} in the transaction of the change,
+ * so PostgreSQL delivers the notification to every instance only once the change is committed,
+ * and never if it is rolled back. Each instance listens for these notifications on its own
+ * connection, which is opened outside of the connection pool so it never takes a pooled
+ * connection away from the requests, and evicts the entry from its cache, including the
+ * instance that made the change, which also drops any copy read by a concurrent request
+ * before the commit. The instance that made the change also evicts the entry itself right
+ * after the commit, so its own next request never reads the old entry while the notification
+ * is on its way. Notifications carry keys as text, so the caches invalidated this way key
+ * their entries by the string form of the key.
+ * <p>
+ * Notifications sent while an instance is not listening are lost, so whenever the listening
+ * connection is opened, including after it was lost, all caches are cleared. The time to
+ * live of the cache entries bounds the staleness in any other case.
+ * <p>
+ * Any error of the listening thread is logged and the connection is opened again after a
+ * delay, so the thread only stops with the application. The health of the instance is down
+ * while it is not listening, since its caches may then serve entries changed by the other
+ * instances until they expire.
+ *
+ * @author RaymundoZ
+ */
+@Slf4j
+@Component
+public class CacheInvalidator implements HealthIndicator, DisposableBean {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+    private static final char SEPARATOR = ':';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheManager cacheManager;
+    private final Thread listener;
+    private volatile boolean running = true;
+    private volatile boolean listening;
+    private volatile String lastError;
+
+    public CacheInvalidator(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                            CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheManager = cacheManager;
+        this.listener = new Thread(this::listen, "cache-invalidation-listener");
+        this.listener.setDaemon(true);
+    }
+
+    /**
+     * Notifies all instances that a cache entry was changed.
+     * <p>
+     * The notification is sent when the current transaction commits, or right away if there
+     * is no transaction. The entry is evicted from the cache of this instance at the same
+     * moment.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key of the changed entry, which is cached by its string form.
+     */
+    public void publish(String cacheName, Object key) {
+        String entry = cacheName + SEPARATOR + key;
+        jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> null, CACHE_CHANNEL, entry);
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(entry);
+                }
+            });
+        else
+            evict(entry);
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class)
+    public void start() {
+        listener.start();
+    }
+
+    /**
+     * Reports whether this instance is listening for the notifications.
+     *
+     * @return The up status while the listening connection is open, or the down status with the last error otherwise.
+     */
+    @Override
+    public Health health() {
+        if (listening)
+            return Health.up().build();
+        Health.Builder health = Health.down();
+        if (lastError != null)
+            health.withDetail("error", lastError);
+        return health.build();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        listener.join(POLL_TIMEOUT_MILLIS * 2L);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("listen " + CACHE_CHANNEL);
+                clearAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listening = true;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null)
+                        for (PGNotification notification : notifications)
+                            evict(notification.getParameter());
+                }
+            } catch (Exception e) {
+                listening = false;
+                lastError = e.toString();
+                if (running) {
+                    log.warn("Cache invalidation listener failed, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, e);
+                    pause();
+                }
+            }
+        }
+        listening = false;
+    }
+
+    private void evict(String entry) {
+        int separator = entry.indexOf(SEPARATOR);
+        if (separator < 0)
+            return;
+        Cache cache = cacheManager.getCache(entry.substring(0, separator));
+        if (cache != null)
+            cache.evict(entry.substring(separator + 1));
+    }
+
+    private void clearAll() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null)
+                cache.clear();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
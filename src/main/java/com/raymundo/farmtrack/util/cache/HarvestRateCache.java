@@ -0,0 +1,46 @@
+package com.raymundo.farmtrack.util.cache;
+
+import com.raymundo.farmtrack.entity.HarvestRateEntity;
+import com.raymundo.farmtrack.repository.HarvestRateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.raymundo.farmtrack.util.Constants.HARVEST_RATES_CACHE;
+
+/**
+ * Cache of the harvest rates of a day.
+ * <p>
+ * The harvest rates of a day are set once, before the reports of the day are submitted, so
+ * all rates of a day are read with one query and kept in the cache under the date, which is
+ * used as a string so the entry can be invalidated with {@link CacheInvalidator}. Reports are
+ * always submitted for the current date, so the cache rolls over to the next day by itself at
+ * midnight, when the first report of the day reads the rates of the new date. The entry is
+ * loaded by a single thread, and an eviction waits for a load in progress, so a load started
+ * before a change of the rates never outlives the eviction made after the change.
+ *
+ * @author RaymundoZ
+ */
+@Component
+@RequiredArgsConstructor
+public class HarvestRateCache {
+
+    private final HarvestRateRepository harvestRateRepository;
+
+    /**
+     * Retrieves the harvest rates of a day.
+     *
+     * @param date The date of the harvest rates.
+     * @return An unmodifiable map of the harvest rates of the day by the id of their product.
+     */
+    @Cacheable(cacheNames = HARVEST_RATES_CACHE, key = "#p0.toString()", sync = true)
+    public Map<UUID, Integer> getRates(LocalDate date) {
+        return harvestRateRepository.findAllByDate(date).stream()
+                .collect(Collectors.toUnmodifiableMap(rate -> rate.getProduct().getId(), HarvestRateEntity::getRate));
+    }
+}
@@ -0,0 +1,52 @@
+package com.raymundo.farmtrack.util.converter;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+
+/**
+ * Message converter reading request bodies in the CSV format.
+ * <p>
+ * The first line of the body is a header naming the property of every column, and each
+ * following line is read as an object with these properties. All lines are read together as
+ * an array, so the body is read into any type that can be read from a JSON array of objects.
+ * Empty cells are read as missing values, just as absent properties of a JSON object. The
+ * converter only reads, so responses are never written as CSV by it.
+ *
+ * @author RaymundoZ
+ */
+@Component
+public class CsvHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private static final CsvSchema HEADER_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    public CsvHttpMessageConverter() {
+        super(CsvMapper.builder()
+                .enable(CsvParser.Feature.WRAP_AS_ARRAY)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build(), new MediaType("text", "csv"));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ObjectReader customizeReader(ObjectReader reader, JavaType javaType) {
+        return reader.with(HEADER_SCHEMA);
+    }
+}
@@ -0,0 +1,7 @@
+package com.raymundo.farmtrack.util.enumeration;
+
+public enum MailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.raymundo.farmtrack.util.exception;
+
+import lombok.RequiredArgsConstructor;
+
+public class PageException extends RuntimeException {
+
+    protected final Code code;
+
+    private PageException(Code code, String message, String value) {
+        super(message.formatted(value));
+        this.code = code;
+    }
+
+    @RequiredArgsConstructor
+    public enum Code {
+        INVALID_CURSOR("Cursor '%s' is not valid"),
+        INVALID_PAGE_SIZE("Page size '%s' should be a positive number");
+
+        private final String message;
+
+        public PageException get(String value) {
+            return new PageException(this, message, value);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.raymundo.farmtrack.util.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * PostgreSQL advisory locks held by the current transaction.
+ * <p>
+ * A lock is taken with {@code pg_advisory_xact_lock} on the connection of the current
+ * transaction, so it is released when the transaction commits or rolls back, and it excludes
+ * every transaction holding the same key, whichever instance of the application runs it.
+ * Advisory locks do not lock any rows, so they only serialize the code that takes them.
+ *
+ * @author RaymundoZ
+ */
+@Component
+@RequiredArgsConstructor
+public class AdvisoryLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes an advisory lock until the end of the current transaction.
+     * <p>
+     * If another transaction holds the lock, this method waits until that transaction ends.
+     *
+     * @param key The key of the lock.
+     */
+    public void lock(long key) {
+        jdbcTemplate.query("select pg_advisory_xact_lock(?)", resultSet -> null, key);
+    }
+}
@@ -0,0 +1,52 @@
+package com.raymundo.farmtrack.util.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Common tags of the application metrics.
+ * <p>
+ * The endpoint tag is the HTTP method together with the path pattern of the handler of the
+ * current request, for example {@code POST /report}, so that requests to the same handler
+ * share the same tag whatever their path variables are. Work done outside of a request, such
+ * as scheduled jobs, work done before the request is mapped to a handler, such as the
+ * authentication in the security filters, and requests that were not mapped to a handler at
+ * all are tagged with {@code none}. The outcome tag is {@code success} or {@code failure},
+ * and the exception tag is the simple name of the thrown exception, or {@code none}.
+ *
+ * @author RaymundoZ
+ */
+public final class MetricTags {
+
+    public static final String ENDPOINT = "endpoint";
+    public static final String METHOD = "method";
+    public static final String OUTCOME = "outcome";
+    public static final String EXCEPTION = "exception";
+    public static final String NONE = "none";
+
+    private MetricTags() {
+    }
+
+    public static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? endpoint(servletAttributes.getRequest())
+                : NONE;
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? NONE : request.getMethod() + " " + pattern;
+    }
+
+    public static String outcome(Throwable exception) {
+        return exception == null ? "success" : "failure";
+    }
+
+    public static String exception(Throwable exception) {
+        return exception == null ? NONE : exception.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,76 @@
+package com.raymundo.farmtrack.util.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter counting the SQL statements executed by Hibernate for every request.
+ * <p>
+ * The filter is also registered in Hibernate as the {@link StatementInspector}, so Hibernate
+ * reports every statement it prepares, including native queries, to the filter, which counts
+ * the statements of the request being processed by the current thread. A JDBC batch is
+ * prepared once, so it counts as a single statement. When the request is complete, the count
+ * is recorded in the {@code http.request.statements} distribution summary, tagged with the
+ * endpoint and the outcome of the request, so a request that executes more statements than
+ * expected shows up as a change in that summary. Statements executed outside of a request,
+ * for example by scheduled jobs, are not counted. The filter runs before the security
+ * filters, so the statements of the authentication are counted as well.
+ * <p>
+ * Asynchronous requests, such as the endpoints returning a {@code CompletableFuture} or a
+ * {@code StreamingResponseBody}, are not recorded. Their statements are executed on other
+ * threads, and their status is not known yet when the request thread leaves the filter, so
+ * both the count and the outcome would be wrong.
+ *
+ * @author RaymundoZ
+ */
+@Component
+@Order(value = Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StatementMetricsFilter extends OncePerRequestFilter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        int[] statements = new int[1];
+        STATEMENTS.set(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            STATEMENTS.remove();
+            if (!request.isAsyncStarted())
+                record(request, response, statements[0]);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, int statements) {
+        DistributionSummary.builder("http.request.statements")
+                .tags(MetricTags.ENDPOINT, MetricTags.endpoint(request),
+                        MetricTags.OUTCOME, Outcome.forStatus(response.getStatus()).name())
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null)
+            statements[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,44 @@
+package com.raymundo.farmtrack.util.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validator of the items of a batch request.
+ * <p>
+ * The items of a batch are validated one by one instead of with the whole request, so an
+ * invalid item does not reject the other items of the batch, and its violations are reported
+ * as the error message of that item.
+ *
+ * @author RaymundoZ
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchItemValidator {
+
+    private final Validator validator;
+
+    /**
+     * Validates an item of a batch.
+     * <p>
+     * This method checks all constraints of the default group. The violations are formatted as
+     * field names with their error messages, separated by commas, in the order of the field names.
+     *
+     * @param item The item to validate.
+     * @return The error message of the item, or null if the item is valid.
+     */
+    public String validate(Object item) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty())
+            return null;
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,13 @@
+package com.raymundo.farmtrack.util.validation;
+
+/**
+ * Validation group of the constraints checking that a value is not taken yet.
+ * <p>
+ * These constraints query the database for every validated value, so they are kept out of
+ * the default group and are only checked where a single object is validated. A batch checks
+ * the uniqueness of all its values with one query instead.
+ *
+ * @author RaymundoZ
+ */
+public interface UniquenessCheck {
+}
@@ -0,0 +1,54 @@
+--liquibase formatted sql
+
+--changeset Raymundo:12
+CREATE TABLE _daily_report
+(
+    id                 UUID    NOT NULL,
+    created_by         VARCHAR(255),
+    created_date       date,
+    last_modified_date date,
+    date               date    NOT NULL,
+    amount             INTEGER NOT NULL,
+    report_count       INTEGER NOT NULL,
+    product_id         UUID    NOT NULL,
+    user_id            UUID    NOT NULL,
+    CONSTRAINT pk__daily_report PRIMARY KEY (id),
+    CONSTRAINT uc__daily_report_date_product_user UNIQUE (date, product_id, user_id)
+);
+
+--changeset Raymundo:13
+ALTER TABLE _daily_report
+    ADD CONSTRAINT FK__DAILY_REPORT_ON_PRODUCT FOREIGN KEY (product_id) REFERENCES _product (id);
+
+--changeset Raymundo:14
+ALTER TABLE _daily_report
+    ADD CONSTRAINT FK__DAILY_REPORT_ON_USER FOREIGN KEY (user_id) REFERENCES _user (id);
+
+--changeset Raymundo:15
+insert into _daily_report (id,
+                           created_by,
+                           created_date,
+                           last_modified_date,
+                           date,
+                           amount,
+                           report_count,
+                           product_id,
+                           user_id)
+select gen_random_uuid(),
+       'liquibase',
+       current_date,
+       current_date,
+       created_date,
+       sum(amount),
+       count(*),
+       product_id,
+       user_id
+from _report
+where created_date is not null
+  and product_id is not null
+  and user_id is not null
+group by created_date, product_id, user_id;
+
+
+--changeset Raymundo:16
+CREATE INDEX idx__daily_report_user_date ON _daily_report (user_id, date);
@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset Raymundo:17
+ALTER TABLE _user
+    ADD CONSTRAINT uc__user_email UNIQUE (email);
+
+--changeset Raymundo:18
+ALTER TABLE _product
+    ADD CONSTRAINT uc__product_name UNIQUE (name);
+
+--changeset Raymundo:19
+CREATE INDEX idx__report_product_created_date ON _report (product_id, created_date);
+
+--changeset Raymundo:20
+CREATE INDEX idx__report_created_date ON _report (created_date);
+
+--changeset Raymundo:21
+CREATE INDEX idx__harvest_rate_date_product ON _harvest_rate (date, product_id);
+
+--changeset Raymundo:22
+CREATE INDEX idx__grade_created_date_user ON _grade (created_date, user_id);
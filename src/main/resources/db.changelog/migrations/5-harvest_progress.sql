@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset Raymundo:23
+CREATE TABLE _harvest_progress
+(
+    id                 UUID    NOT NULL,
+    created_by         VARCHAR(255),
+    created_date       date,
+    last_modified_date date,
+    date               date    NOT NULL,
+    amount             INTEGER NOT NULL,
+    product_id         UUID    NOT NULL,
+    CONSTRAINT pk__harvest_progress PRIMARY KEY (id),
+    CONSTRAINT uc__harvest_progress_date_product UNIQUE (date, product_id)
+);
+
+--changeset Raymundo:24
+ALTER TABLE _harvest_progress
+    ADD CONSTRAINT FK__HARVEST_PROGRESS_ON_PRODUCT FOREIGN KEY (product_id) REFERENCES _product (id);
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset Raymundo:25
+CREATE INDEX idx__harvest_rate_date_id ON _harvest_rate (date, id);
+
+--changeset Raymundo:26
+CREATE INDEX idx__grade_created_date_id ON _grade (created_date, id);
+
+--changeset Raymundo:27
+CREATE INDEX idx__product_created_date_id ON _product (created_date, id);
@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset Raymundo:28
+CREATE TABLE _mail_outbox
+(
+    id                 UUID         NOT NULL,
+    created_by         VARCHAR(255),
+    created_date       date,
+    last_modified_date date,
+    recipient          VARCHAR(255) NOT NULL,
+    subject            VARCHAR(255),
+    text               VARCHAR,
+    status             VARCHAR(255) NOT NULL,
+    attempts           INTEGER      NOT NULL,
+    next_attempt_at    TIMESTAMP    NOT NULL,
+    last_error         VARCHAR,
+    CONSTRAINT pk__mail_outbox PRIMARY KEY (id)
+);
+
+--changeset Raymundo:29
+CREATE INDEX idx__mail_outbox_status_next_attempt_at ON _mail_outbox (status, next_attempt_at);
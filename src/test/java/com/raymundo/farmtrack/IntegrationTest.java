@@ -0,0 +1,269 @@
+package com.raymundo.farmtrack;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raymundo.farmtrack.entity.UserEntity;
+import com.raymundo.farmtrack.repository.UserRepository;
+import com.raymundo.farmtrack.security.JwtAuthToken;
+import com.raymundo.farmtrack.util.cache.CacheInvalidator;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import com.raymundo.farmtrack.util.enumeration.TokenType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.http.Cookie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.raymundo.farmtrack.util.Constants.HARVEST_RATES_CACHE;
+import static com.raymundo.farmtrack.util.metrics.MetricTags.ENDPOINT;
+import static com.raymundo.farmtrack.util.metrics.MetricTags.OUTCOME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base class of the integration tests.
+ * <p>
+ * The tests run the whole application with the {@code prod} profile against an embedded
+ * PostgreSQL, which is started once for all tests and migrated by Liquibase like a real
+ * database. The {@code test} profile supplies the properties that are otherwise given by the
+ * environment. All tests share the same application context and database, so every test
+ * creates its own users and products with unique names instead of relying on an empty
+ * database.
+ *
+ * @author RaymundoZ
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles(value = {"prod", "test"})
+public abstract class IntegrationTest {
+
+    protected static final String ADMIN_EMAIL = "admin@farm.ru";
+    protected static final String ADMIN_PASSWORD = "admin";
+    protected static final String PASSWORD = "password";
+    protected static final long TIMEOUT_SECONDS = 30;
+    protected static final long POLL_MILLIS = 50;
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    /**
+     * Returns a name that is unique within the test run.
+     *
+     * @param prefix The prefix of the name.
+     * @return The unique name.
+     */
+    protected static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID();
+    }
+
+    protected UUID createUser(String email, Role role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("insert into _user " +
+                        "(id, created_by, created_date, last_modified_date, name, surname, patronymic, email, password, role, is_enabled) " +
+                        "values (?, 'test', current_date, current_date, 'Name', 'Surname', 'Patronymic', ?, ?, ?, true)",
+                id, email, passwordEncoder.encode(PASSWORD), role.toString());
+        return id;
+    }
+
+    protected UUID createProduct(String name, Measure measure) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("insert into _product " +
+                        "(id, created_by, created_date, last_modified_date, name, amount, measure) " +
+                        "values (?, 'test', current_date, current_date, ?, 0, ?)",
+                id, name, measure.toString());
+        return id;
+    }
+
+    /**
+     * Creates a harvest rate and drops the cached harvest rates of its date, as the harvest rate
+     * service does.
+     *
+     * @param product The id of the product.
+     * @param date    The date of the rate.
+     * @param rate    The rate.
+     */
+    protected void createHarvestRate(UUID product, LocalDate date, int rate) {
+        jdbcTemplate.update("insert into _harvest_rate " +
+                        "(id, created_by, created_date, last_modified_date, rate, date, product_id) " +
+                        "values (?, 'test', current_date, current_date, ?, ?, ?)",
+                UUID.randomUUID(), rate, date, product);
+        cacheInvalidator.publish(HARVEST_RATES_CACHE, date);
+    }
+
+    protected UUID createReport(UUID user, UUID product, LocalDate date, int amount) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("insert into _report " +
+                        "(id, created_by, created_date, last_modified_date, amount, product_id, user_id) " +
+                        "values (?, 'test', ?, ?, ?, ?, ?)",
+                id, date, date, amount, product, user);
+        return id;
+    }
+
+    /**
+     * Performs a successful request and returns the number of SQL statements it executed.
+     * <p>
+     * The statements are counted by the {@code StatementMetricsFilter}, which records them in the
+     * {@code http.request.statements} summary of every endpoint, so the count of the request is
+     * read as the difference of the summary total.
+     *
+     * @param endpoint The endpoint tag of the request, as the method and the route pattern.
+     * @param request  The request.
+     * @return The number of statements executed by the request.
+     */
+    protected long countStatements(String endpoint, RequestBuilder request) throws Exception {
+        DistributionSummary summary = statements(endpoint);
+        double before = summary == null ? 0 : summary.totalAmount();
+        long count = summary == null ? 0 : summary.count();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        summary = statements(endpoint);
+        assertEquals(count + 1, summary.count());
+        return Math.round(summary.totalAmount() - before);
+    }
+
+    /**
+     * Logs in through the login endpoint and returns the issued tokens.
+     *
+     * @param email    The email of the user.
+     * @param password The password of the user.
+     * @return The cookies holding the access and the refresh tokens.
+     */
+    protected Cookie[] login(String email, String password) throws Exception {
+        Cookie[] cookies = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", password))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getCookies();
+        return Arrays.stream(cookies)
+                .filter(cookie -> cookie.getValue() != null)
+                .toArray(Cookie[]::new);
+    }
+
+    /**
+     * Runs an action on the current thread on behalf of a user, the same way the action is run
+     * when the user is authenticated by a JWT token.
+     *
+     * @param userId The id of the user.
+     * @param action The action to run.
+     * @return The result of the action.
+     */
+    protected <T> T runAs(UUID userId, Supplier<T> action) {
+        UserEntity user = userRepository.findById(userId).orElseThrow();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new JwtAuthToken(user, TokenType.ACCESS));
+        SecurityContextHolder.setContext(context);
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Waits for a latch to be counted down by another thread of the test.
+     *
+     * @param latch The latch to wait for.
+     * @throws IllegalStateException Thrown when the latch is not counted down in time or the
+     *                               thread is interrupted.
+     */
+    protected static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                throw new IllegalStateException("Timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits until a statement of the database waits for a lock held by another transaction.
+     * <p>
+     * The lock waits are read from {@code pg_stat_activity}, so a test can let a transaction
+     * holding a lock go on only once a concurrent statement is blocked by it. The method
+     * returns after the timeout even if no statement waits for a lock.
+     */
+    protected void awaitLockWait() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (lockWaits() == 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(POLL_MILLIS);
+    }
+
+    private int lockWaits() {
+        return jdbcTemplate.queryForObject("select count(*) from pg_stat_activity where wait_event_type = 'Lock'",
+                Integer.class);
+    }
+
+    private DistributionSummary statements(String endpoint) {
+        return meterRegistry.find("http.request.statements")
+                .tag(ENDPOINT, endpoint)
+                .tag(OUTCOME, "SUCCESS")
+                .summary();
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
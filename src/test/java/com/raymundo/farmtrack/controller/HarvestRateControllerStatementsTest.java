@@ -0,0 +1,86 @@
+package com.raymundo.farmtrack.controller;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that the harvest rate endpoints execute as many SQL statements for one harvest rate as
+ * for many.
+ * <p>
+ * The harvest rates are read together with their products, so the product of every harvest
+ * rate must not be loaded by a statement of its own. Every harvest rate of the many is of
+ * another product, and the harvest rates are dated long before the harvest rates of the other
+ * tests, so the first page of all harvest rates holds only them.
+ *
+ * @author RaymundoZ
+ */
+@TestInstance(value = TestInstance.Lifecycle.PER_CLASS)
+class HarvestRateControllerStatementsTest extends IntegrationTest {
+
+    private static final int RATES = 20;
+    private static final LocalDate ONE_RATE_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MANY_RATES_DATE = LocalDate.of(1900, 1, 2);
+    private static final LocalDate PRODUCT_RATES_DATE = LocalDate.of(1950, 1, 1);
+
+    private String oneRateProduct;
+    private String manyRatesProduct;
+
+    @BeforeAll
+    void seed() {
+        oneRateProduct = unique("product");
+        createHarvestRate(createProduct(oneRateProduct, Measure.KILOGRAM), ONE_RATE_DATE, 100);
+        for (int i = 0; i < RATES; i++)
+            createHarvestRate(createProduct(unique("product"), Measure.KILOGRAM), MANY_RATES_DATE, 100);
+        manyRatesProduct = unique("product");
+        UUID product = createProduct(manyRatesProduct, Measure.KILOGRAM);
+        for (int i = 0; i < RATES; i++)
+            createHarvestRate(product, PRODUCT_RATES_DATE.plusDays(i), 100);
+    }
+
+    @Test
+    void getAllHarvestRatesExecutesSameStatementsForAnyPageSize() throws Exception {
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+        assertEquals(
+                countWarmStatements("GET /harvest", get("/harvest").param("size", "1").cookie(cookies)),
+                countWarmStatements("GET /harvest", get("/harvest").param("size", String.valueOf(RATES)).cookie(cookies))
+        );
+    }
+
+    @Test
+    void getHarvestRatesByDateExecutesSameStatementsForAnyNumberOfRates() throws Exception {
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+        assertEquals(
+                countWarmStatements("GET /harvest/date/{date}", get("/harvest/date/{date}", ONE_RATE_DATE).cookie(cookies)),
+                countWarmStatements("GET /harvest/date/{date}", get("/harvest/date/{date}", MANY_RATES_DATE).cookie(cookies))
+        );
+    }
+
+    @Test
+    void getHarvestRatesByProductExecutesSameStatementsForAnyNumberOfRates() throws Exception {
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+        assertEquals(
+                countWarmStatements("GET /harvest/product/{product}", get("/harvest/product/{product}", oneRateProduct).cookie(cookies)),
+                countWarmStatements("GET /harvest/product/{product}", get("/harvest/product/{product}", manyRatesProduct).cookie(cookies))
+        );
+    }
+
+    private long countWarmStatements(String endpoint, RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        return countStatements(endpoint, request);
+    }
+}
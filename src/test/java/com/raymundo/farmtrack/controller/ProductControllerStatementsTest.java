@@ -0,0 +1,50 @@
+package com.raymundo.farmtrack.controller;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that the product deletion executes as many SQL statements for a product with one report
+ * as for a product with many.
+ * <p>
+ * The reports are read together with their products and users, and deleted in a single JDBC
+ * batch, so neither the reading nor the deletion of a report executes a statement of its own.
+ *
+ * @author RaymundoZ
+ */
+class ProductControllerStatementsTest extends IntegrationTest {
+
+    private static final int REPORTS = 20;
+
+    @Test
+    void deleteProductExecutesSameStatementsForAnyNumberOfReports() throws Exception {
+        LocalDate today = LocalDate.now();
+        String warmupProduct = unique("product");
+        String oneReportProduct = unique("product");
+        String manyReportsProduct = unique("product");
+        createProduct(warmupProduct, Measure.KILOGRAM);
+        UUID oneReportProductId = createProduct(oneReportProduct, Measure.KILOGRAM);
+        UUID manyReportsProductId = createProduct(manyReportsProduct, Measure.KILOGRAM);
+        createReport(createUser(unique("worker") + "@farm.ru", Role.USER), oneReportProductId, today, 1);
+        for (int i = 0; i < REPORTS; i++)
+            createReport(createUser(unique("worker") + "@farm.ru", Role.USER), manyReportsProductId, today, 1);
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        // Deleting a product first caches the admin, as in the measured requests.
+        mockMvc.perform(delete("/product/{productName}", warmupProduct).cookie(cookies)).andExpect(status().isOk());
+
+        assertEquals(
+                countStatements("DELETE /product/{productName}", delete("/product/{productName}", oneReportProduct).cookie(cookies)),
+                countStatements("DELETE /product/{productName}", delete("/product/{productName}", manyReportsProduct).cookie(cookies))
+        );
+    }
+}
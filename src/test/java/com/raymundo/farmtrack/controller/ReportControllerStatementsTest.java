@@ -0,0 +1,111 @@
+package com.raymundo.farmtrack.controller;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests of the number of SQL statements executed by the report endpoints.
+ * <p>
+ * The statements are counted by the {@code StatementMetricsFilter}, which records them in the
+ * {@code http.request.statements} summary of every endpoint. Every endpoint is requested once
+ * before it is measured, so the users, the products and the harvest rates are already cached.
+ *
+ * @author RaymundoZ
+ */
+class ReportControllerStatementsTest extends IntegrationTest {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private String product;
+    private String user;
+
+    @BeforeEach
+    void setUp() {
+        product = unique("product");
+        user = unique("worker") + "@farm.ru";
+        UUID productId = createProduct(product, Measure.KILOGRAM);
+        createHarvestRate(productId, LocalDate.now(), 100);
+        createUser(user, Role.USER);
+    }
+
+    @Test
+    void createReportExecutesFourStatements() throws Exception {
+        Cookie[] cookies = login(user, PASSWORD);
+        RequestBuilder request = post("/report")
+                .cookie(cookies)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("product", product, "amount", 10)));
+
+        // The product update, the harvest progress upsert, the report insert and the daily report upsert.
+        assertEquals(4, countWarmStatements("POST /report", request));
+    }
+
+    @Test
+    void createReportsExecutesFiveStatementsForOneProduct() throws Exception {
+        Cookie[] cookies = login(user, PASSWORD);
+        RequestBuilder request = post("/report/batch")
+                .cookie(cookies)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("reports", List.of(
+                        Map.of("product", product, "amount", 1),
+                        Map.of("product", product, "amount", 2),
+                        Map.of("product", product, "amount", 3)
+                ))));
+
+        // The product select, its update, the harvest progress upsert, the daily report upsert
+        // and a single batch of report inserts.
+        assertEquals(5, countWarmStatements("POST /report/batch", request));
+    }
+
+    @Test
+    void getGeneralStatisticsExecutesOneStatement() throws Exception {
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        RequestBuilder request = get("/report/stat")
+                .cookie(cookies)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(period());
+
+        assertEquals(1, countWarmStatements("GET /report/stat", request));
+    }
+
+    @Test
+    void getStatisticsByUserExecutesTwoStatements() throws Exception {
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        RequestBuilder request = get("/report/stat/{userEmail}", user)
+                .cookie(cookies)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(period());
+
+        // The user select by email and the daily report aggregation.
+        assertEquals(2, countWarmStatements("GET /report/stat/{userEmail}", request));
+    }
+
+    private String period() throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "start_date", LocalDate.now().minusDays(30).format(DATE_FORMAT),
+                "end_date", LocalDate.now().format(DATE_FORMAT)
+        ));
+    }
+
+    private long countWarmStatements(String endpoint, RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return countStatements(endpoint, request);
+    }
+}
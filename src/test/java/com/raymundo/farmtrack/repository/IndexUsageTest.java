@@ -0,0 +1,204 @@
+package com.raymundo.farmtrack.repository;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.util.metrics.StatementMetricsFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Tests that the hot queries of the repositories are planned with the indexes created for them.
+ * <p>
+ * Every query is run through its repository method, and the SQL prepared by Hibernate for it
+ * is captured by spying on the {@link StatementMetricsFilter}, which is the statement inspector
+ * of Hibernate. The captured SQL is prepared and its generic plan, the plan of a prepared
+ * statement whatever its parameters are, is explained after the tables are filled with the
+ * products, workers, harvest rates, grades and reports of a few weeks and analyzed. The tables
+ * are still small, so sequential scans are disabled for the explained query to make the planner
+ * use an index whenever one matches the query, and the test checks that the chosen index is the
+ * one created for the query.
+ *
+ * @author RaymundoZ
+ */
+@TestInstance(value = TestInstance.Lifecycle.PER_CLASS)
+class IndexUsageTest extends IntegrationTest {
+
+    private static final int PRODUCTS = 50;
+    private static final int WORKERS = 50;
+    private static final int DAYS = 40;
+    private static final int REPORTS = 20000;
+
+    private static final UUID ID = UUID.randomUUID();
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HarvestRateRepository harvestRateRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private DailyReportRepository dailyReportRepository;
+
+    @Autowired
+    private HarvestProgressRepository harvestProgressRepository;
+
+    @SpyBean
+    private StatementMetricsFilter statementMetricsFilter;
+
+    @BeforeAll
+    void seed() {
+        String prefix = unique("index");
+        jdbcTemplate.update("insert into _product " +
+                        "(id, created_by, created_date, last_modified_date, name, amount, measure) " +
+                        "select gen_random_uuid(), 'test', current_date, current_date, ? || i, 0, 'KILOGRAM' " +
+                        "from generate_series(1, ?) i",
+                prefix, PRODUCTS);
+        jdbcTemplate.update("insert into _user " +
+                        "(id, created_by, created_date, last_modified_date, name, surname, patronymic, email, password, role, is_enabled) " +
+                        "select gen_random_uuid(), 'test', current_date, current_date, 'Name', 'Surname', 'Patronymic', " +
+                        "? || i || '@farm.ru', 'password', 'USER', true " +
+                        "from generate_series(1, ?) i",
+                prefix, WORKERS);
+        jdbcTemplate.update("insert into _harvest_rate " +
+                        "(id, created_by, created_date, last_modified_date, rate, date, product_id) " +
+                        "select gen_random_uuid(), 'test', current_date, current_date, 100, current_date - d, p.id " +
+                        "from _product p cross join generate_series(0, ?) d " +
+                        "where p.name like ? || '%'",
+                DAYS - 1, prefix);
+        jdbcTemplate.update("insert into _grade " +
+                        "(id, created_by, created_date, last_modified_date, grade, user_id) " +
+                        "select gen_random_uuid(), 'test', current_date - d, current_date - d, 5, u.id " +
+                        "from _user u cross join generate_series(0, ?) d " +
+                        "where u.email like ? || '%'",
+                DAYS - 1, prefix);
+        jdbcTemplate.update("insert into _report " +
+                        "(id, created_by, created_date, last_modified_date, amount, product_id, user_id) " +
+                        "select gen_random_uuid(), 'test', r.date, r.date, 1, " +
+                        "p.ids[1 + floor(random() * p.count)::int], u.ids[1 + floor(random() * u.count)::int] " +
+                        "from (select current_date - floor(random() * ?)::int date from generate_series(1, ?)) r " +
+                        "cross join (select array_agg(id) ids, count(*) count from _product where name like ? || '%') p " +
+                        "cross join (select array_agg(id) ids, count(*) count from _user where email like ? || '%') u",
+                DAYS, REPORTS, prefix, prefix);
+        jdbcTemplate.update("insert into _daily_report " +
+                        "(id, created_by, created_date, last_modified_date, date, amount, report_count, product_id, user_id) " +
+                        "select gen_random_uuid(), 'test', current_date, current_date, r.created_date, sum(r.amount), count(*), r.product_id, r.user_id " +
+                        "from _report r join _user u on u.id = r.user_id " +
+                        "where u.email like ? || '%' " +
+                        "group by r.created_date, r.product_id, r.user_id",
+                prefix);
+        jdbcTemplate.execute("analyze");
+    }
+
+    Stream<Arguments> queries() {
+        return Stream.of(
+                Arguments.of("uc__user_email", (Runnable) () ->
+                        userRepository.findByEmail("worker@farm.ru")),
+                Arguments.of("uc__product_name", (Runnable) () ->
+                        productRepository.findByName(unique("product"))),
+                Arguments.of("idx__harvest_rate_date_product", (Runnable) () ->
+                        harvestRateRepository.findByDateAndProductId(TODAY, ID)),
+                Arguments.of("idx__grade_created_date_user", (Runnable) () ->
+                        gradeRepository.findByCreatedDateAndUser(TODAY, userRepository.getReferenceById(ID))),
+                Arguments.of("idx__report_created_date", (Runnable) () ->
+                        dailyReportRepository.insertAllFromReports(TODAY.plusDays(1), "test")),
+                Arguments.of("idx__report_created_date", (Runnable) () ->
+                        harvestProgressRepository.insertAllFromReports(TODAY.plusDays(1), "test")),
+                Arguments.of("idx__report_product_created_date", (Runnable) () ->
+                        reportRepository.findAllByProduct(productRepository.getReferenceById(ID))),
+                Arguments.of("idx__daily_report_user_date", (Runnable) () ->
+                        dailyReportRepository.sumAmountByUserGroupByProduct(userRepository.getReferenceById(ID),
+                                TODAY.minusDays(30), TODAY)),
+                Arguments.of("uc__daily_report_date_product_user", (Runnable) () ->
+                        dailyReportRepository.sumAmountGroupByUserAndProduct(TODAY.minusDays(7), TODAY))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource(value = "queries")
+    void queryUsesIndex(String index, Runnable query) {
+        String sql = capture(query);
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            jdbcTemplate.execute("set local plan_cache_mode = force_generic_plan");
+            return explain(sql);
+        });
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in the plan of " + sql + ":\n" + plan);
+    }
+
+    /**
+     * Runs a repository query in a transaction that is rolled back and returns the SQL of the
+     * single statement prepared by Hibernate for it.
+     */
+    private String capture(Runnable query) {
+        Thread thread = Thread.currentThread();
+        List<String> statements = new ArrayList<>();
+        doAnswer(invocation -> {
+            if (Thread.currentThread() == thread)
+                statements.add(invocation.getArgument(0));
+            return invocation.callRealMethod();
+        }).when(statementMetricsFilter).inspect(anyString());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            reset(statementMetricsFilter);
+        }
+        assertEquals(1, statements.size(), () -> "Expected a single statement: " + statements);
+        return statements.get(0);
+    }
+
+    /**
+     * Explains the generic plan of a statement with JDBC parameters, the plan a prepared
+     * statement uses whatever its parameters are.
+     */
+    private String explain(String sql) {
+        StringBuilder statement = new StringBuilder();
+        int parameters = 0;
+        for (char symbol : sql.toCharArray()) {
+            if (symbol == '?')
+                statement.append('$').append(++parameters);
+            else
+                statement.append(symbol);
+        }
+        jdbcTemplate.execute("prepare explained as " + statement);
+        try {
+            String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+            return String.join("\n", jdbcTemplate.queryForList("explain execute explained" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("deallocate explained");
+        }
+    }
+}
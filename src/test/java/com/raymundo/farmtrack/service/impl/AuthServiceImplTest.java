@@ -0,0 +1,157 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.dto.UserInfoDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
+import com.raymundo.farmtrack.repository.UserRepository;
+import com.raymundo.farmtrack.service.AuthService;
+import com.raymundo.farmtrack.service.PasswordHashingService;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.raymundo.farmtrack.util.Constants.USERS_CACHE;
+import static com.raymundo.farmtrack.util.Constants.USER_EMAIL_UNIQUE_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests of the registration of user batches and of the eviction of blocked and unblocked users
+ * from the cache of authenticated users.
+ *
+ * @author RaymundoZ
+ */
+class AuthServiceImplTest extends IntegrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value(value = "${password-encoder.hashing.queue-capacity}")
+    private int queueCapacity;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void blockUserEvictsUserOnCommit() {
+        String email = unique("worker") + "@farm.ru";
+        UUID id = createUser(email, Role.USER);
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        userRepository.findById(id);
+        assertNotNull(cache.get(id.toString()));
+
+        authService.blockUser(email);
+
+        assertNull(cache.get(id.toString()));
+        userRepository.findById(id);
+        authService.unblockUser(email);
+
+        assertNull(cache.get(id.toString()));
+    }
+
+    @Test
+    void blockedUserIsRejectedOnNextRequest() throws Exception {
+        String email = unique("worker") + "@farm.ru";
+        String product = unique("product");
+        createUser(email, Role.USER);
+        createProduct(product, Measure.KILOGRAM);
+        Cookie[] cookies = login(email, PASSWORD);
+        String report = objectMapper.writeValueAsString(Map.of("product", product, "amount", 1));
+        mockMvc.perform(post("/report").cookie(cookies).contentType(MediaType.APPLICATION_JSON).content(report))
+                .andExpect(status().isCreated());
+
+        authService.blockUser(email);
+
+        mockMvc.perform(post("/report").cookie(cookies).contentType(MediaType.APPLICATION_JSON).content(report))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void registerUsersReportsEmailTakenConcurrently() throws Exception {
+        String taken = unique("worker") + "@farm.ru";
+        String free = unique("worker") + "@farm.ru";
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<BatchItemDto<UserInfoDto>> results;
+        try {
+            // The concurrent registration is committed only once the batch waits for it on the unique email.
+            Future<?> registration = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                createUser(taken, Role.USER);
+                inserted.countDown();
+                await(commit);
+            }));
+            await(inserted);
+            CompletableFuture<List<BatchItemDto<UserInfoDto>>> batch = authService.registerUsers(List.of(user(taken), user(free)));
+            awaitLockWait();
+            commit.countDown();
+            registration.get();
+            results = batch.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNull(results.get(0).data());
+        assertEquals("email: " + USER_EMAIL_UNIQUE_MESSAGE, results.get(0).error());
+        assertEquals(free, results.get(1).data().email());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from _user where email = ?", Integer.class, free));
+    }
+
+    @Test
+    void registerUsersCancelsPasswordsWhenPoolIsFull() throws Exception {
+        List<UserInfoDto> users = new ArrayList<>();
+        for (int i = 0; i < 2 * (queueCapacity + Runtime.getRuntime().availableProcessors()); i++)
+            users.add(user(unique("worker") + "@farm.ru"));
+
+        assertThrows(TaskRejectedException.class, () -> authService.registerUsers(users));
+
+        // The cancelled passwords are skipped by the pool, so a new password is encoded without waiting for them.
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        CompletableFuture<String> password = null;
+        while (password == null && System.currentTimeMillis() < deadline) {
+            try {
+                password = passwordHashingService.encode(PASSWORD);
+            } catch (TaskRejectedException e) {
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+        assertNotNull(password);
+        assertNotNull(password.get(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private static UserInfoDto user(String email) {
+        return new UserInfoDto(email, PASSWORD, "Name", "Surname", "Patronymic", Role.USER.name(), null, null);
+    }
+}
@@ -0,0 +1,155 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.entity.MailOutboxEntity;
+import com.raymundo.farmtrack.repository.MailOutboxRepository;
+import com.raymundo.farmtrack.service.MailService;
+import com.raymundo.farmtrack.util.enumeration.MailStatus;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Tests of the delivery of the emails stored in the mail outbox by {@link MailServiceImpl}.
+ * <p>
+ * The emails are delivered to a GreenMail server listening on the mail port of the test
+ * configuration. The mail sender is spied on, so that the tests can check how it is called
+ * and make it fail with an error that is not a mail exception.
+ *
+ * @author RaymundoZ
+ */
+class MailServiceImplTest extends IntegrationTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @SpyBean
+    private JavaMailSender mailSender;
+
+    @Value(value = "${mail-service.max-attempts}")
+    private int maxAttempts;
+
+    @Test
+    void deliverPendingMailsSendsMailOutsideTransaction() throws Exception {
+        String recipient = unique("worker") + "@farm.ru";
+        List<Boolean> transactions = new ArrayList<>();
+        doAnswer(invocation -> {
+            transactions.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(mailSender).send(ArgumentMatchers.<SimpleMailMessage>any());
+        mailService.sendMail(recipient, "Subject", "Text");
+
+        deliverAll();
+
+        MailOutboxEntity mail = mail(recipient);
+        assertEquals(MailStatus.SENT, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertNull(mail.getLastError());
+        assertFalse(transactions.isEmpty());
+        assertFalse(transactions.contains(true));
+        MimeMessage message = received(recipient);
+        assertNotNull(message);
+        assertEquals("Subject", message.getSubject());
+    }
+
+    @Test
+    void deliverPendingMailsPostponesMailWhenServerIsDown() {
+        String recipient = unique("worker") + "@farm.ru";
+        mailService.sendMail(recipient, "Subject", "Text");
+        greenMail.stop();
+
+        deliverAll();
+
+        MailOutboxEntity mail = mail(recipient);
+        assertEquals(MailStatus.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertNotNull(mail.getLastError());
+        assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void deliverPendingMailsFailsMailAfterMaxAttempts() {
+        String recipient = unique("worker") + "@farm.ru";
+        mailService.sendMail(recipient, "Subject", "Text");
+        jdbcTemplate.update("update _mail_outbox set attempts = ? where recipient = ?", maxAttempts - 1, recipient);
+        greenMail.stop();
+
+        deliverAll();
+
+        MailOutboxEntity mail = mail(recipient);
+        assertEquals(MailStatus.FAILED, mail.getStatus());
+        assertEquals(maxAttempts, mail.getAttempts());
+        assertNotNull(mail.getLastError());
+    }
+
+    @Test
+    void deliverPendingMailsRecordsUnexpectedErrorAndSendsOtherMails() throws Exception {
+        String poison = unique("poison") + "@farm.ru";
+        String recipient = unique("worker") + "@farm.ru";
+        doThrow(new IllegalStateException("Unexpected"))
+                .when(mailSender).send(ArgumentMatchers.<SimpleMailMessage>argThat(message ->
+                        message != null && Arrays.asList(message.getTo()).contains(poison)));
+        mailService.sendMail(poison, "Subject", "Text");
+        mailService.sendMail(recipient, "Subject", "Text");
+
+        deliverAll();
+
+        MailOutboxEntity failed = mail(poison);
+        assertEquals(MailStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertEquals("Unexpected", failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(MailStatus.SENT, mail(recipient).getStatus());
+        assertNotNull(received(recipient));
+    }
+
+    private void deliverAll() {
+        int processed;
+        do {
+            processed = mailService.deliverPendingMails();
+        } while (processed > 0);
+    }
+
+    private MailOutboxEntity mail(String recipient) {
+        return mailOutboxRepository.findAll().stream()
+                .filter(mail -> mail.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static MimeMessage received(String recipient) throws Exception {
+        for (MimeMessage message : greenMail.getReceivedMessages())
+            if (message.getRecipients(Message.RecipientType.TO)[0].toString().equals(recipient))
+                return message;
+        return null;
+    }
+}
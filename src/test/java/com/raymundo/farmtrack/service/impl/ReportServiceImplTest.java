@@ -0,0 +1,274 @@
+package com.raymundo.farmtrack.service.impl;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.dto.ReportDto;
+import com.raymundo.farmtrack.dto.basic.BatchItemDto;
+import com.raymundo.farmtrack.service.ReportService;
+import com.raymundo.farmtrack.util.enumeration.Measure;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.raymundo.farmtrack.util.Constants.NOT_BLANK_MESSAGE;
+import static com.raymundo.farmtrack.util.Constants.NOT_NULL_MESSAGE;
+import static com.raymundo.farmtrack.util.Constants.POSITIVE_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests of the report creation of {@link ReportServiceImpl}.
+ *
+ * @author RaymundoZ
+ */
+class ReportServiceImplTest extends IntegrationTest {
+
+    private static final int BATCH_THREADS = 2;
+    private static final int BATCH_ITERATIONS = 30;
+    private static final int REPORT_THREADS = 8;
+    private static final int REPORTS_PER_THREAD = 25;
+    private static final int REPORT_AMOUNT = 3;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void createReportConcurrentlyKeepsTotals() throws Exception {
+        LocalDate today = LocalDate.now();
+        String product = unique("product");
+        UUID productId = createProduct(product, Measure.KILOGRAM);
+        int reports = REPORT_THREADS * REPORTS_PER_THREAD;
+        int rate = reports * REPORT_AMOUNT / 2;
+        createHarvestRate(productId, today, rate);
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < REPORT_THREADS; i++)
+            users.add(createUser(unique("worker") + "@farm.ru", Role.USER));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(REPORT_THREADS);
+        List<Integer> ratesLeft = new ArrayList<>();
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (UUID user : users)
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> left = new ArrayList<>();
+                    for (int i = 0; i < REPORTS_PER_THREAD; i++)
+                        left.add(runAs(user, () -> reportService.createReport(report(product, REPORT_AMOUNT))).rateLeft());
+                    return left;
+                }));
+            start.countDown();
+            for (Future<List<Integer>> future : futures)
+                ratesLeft.addAll(future.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = reports * REPORT_AMOUNT;
+        assertEquals(total, productAmount(productId));
+        assertEquals(total, harvestProgress(productId, today));
+        assertEquals(total, jdbcTemplate.queryForObject("select sum(amount) from _daily_report where product_id = ?",
+                Integer.class, productId));
+        assertEquals(reports, jdbcTemplate.queryForObject("select count(*) from _report where product_id = ?",
+                Integer.class, productId));
+        // Every report sees its own running total, so the rates left are those of reporting one by one.
+        List<Integer> expected = IntStream.rangeClosed(1, reports)
+                .map(report -> Math.max(rate - report * REPORT_AMOUNT, 0))
+                .boxed()
+                .toList();
+        assertEquals(expected, ratesLeft.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    void createReportsAddsAmountsOncePerProduct() {
+        LocalDate today = LocalDate.now();
+        String first = unique("product");
+        String second = unique("product");
+        UUID firstId = createProduct(first, Measure.KILOGRAM);
+        UUID secondId = createProduct(second, Measure.PIECE);
+        createHarvestRate(firstId, today, 10);
+        UUID user = createUser(unique("worker") + "@farm.ru", Role.USER);
+
+        List<BatchItemDto<ReportDto>> results = runAs(user, () -> reportService.createReports(List.of(
+                report(first, 4),
+                report(second, 2),
+                report(unique("unknown"), 1),
+                report(first, 5),
+                report(first, 3)
+        )));
+
+        assertEquals(5, results.size());
+        assertEquals(6, results.get(0).data().rateLeft());
+        assertEquals(0, results.get(1).data().rateLeft());
+        assertNull(results.get(2).data());
+        assertNotNull(results.get(2).error());
+        assertEquals(1, results.get(3).data().rateLeft());
+        assertEquals(0, results.get(4).data().rateLeft());
+        assertEquals(12, productAmount(firstId));
+        assertEquals(2, productAmount(secondId));
+        assertEquals(12, harvestProgress(firstId, today));
+        assertEquals(2, harvestProgress(secondId, today));
+        assertEquals(List.of(12, 3), dailyReport(user, firstId, today));
+        assertEquals(List.of(2, 1), dailyReport(user, secondId, today));
+        assertEquals(4, reportCount(user));
+    }
+
+    @Test
+    void createReportsReturnsErrorsOfInvalidReports() {
+        LocalDate today = LocalDate.now();
+        String product = unique("product");
+        UUID productId = createProduct(product, Measure.KILOGRAM);
+        UUID user = createUser(unique("worker") + "@farm.ru", Role.USER);
+
+        List<BatchItemDto<ReportDto>> results = runAs(user, () -> reportService.createReports(List.of(
+                report(product, 4),
+                report(product, -1),
+                report(" ", 1),
+                new ReportDto(product, null, null, null, null),
+                report(product, 2)
+        )));
+
+        assertEquals(5, results.size());
+        assertNotNull(results.get(0).data());
+        assertEquals("amount: " + POSITIVE_MESSAGE, results.get(1).error());
+        assertEquals("product: " + NOT_BLANK_MESSAGE, results.get(2).error());
+        assertEquals("amount: " + NOT_NULL_MESSAGE, results.get(3).error());
+        assertNotNull(results.get(4).data());
+        assertEquals(6, productAmount(productId));
+        assertEquals(List.of(6, 2), dailyReport(user, productId, today));
+        assertEquals(2, reportCount(user));
+    }
+
+    @Test
+    void createReportsInOppositeOrderDoNotDeadlock() throws Exception {
+        String first = unique("product");
+        String second = unique("product");
+        UUID firstId = createProduct(first, Measure.KILOGRAM);
+        UUID secondId = createProduct(second, Measure.KILOGRAM);
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < BATCH_THREADS; i++)
+            users.add(createUser(unique("worker") + "@farm.ru", Role.USER));
+        CyclicBarrier barrier = new CyclicBarrier(BATCH_THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(BATCH_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < BATCH_THREADS; i++) {
+                UUID user = users.get(i);
+                List<ReportDto> batch = i % 2 == 0
+                        ? List.of(report(first, 1), report(second, 1))
+                        : List.of(report(second, 1), report(first, 1));
+                futures.add(executor.submit(() -> {
+                    for (int iteration = 0; iteration < BATCH_ITERATIONS; iteration++) {
+                        barrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                        runAs(user, () -> reportService.createReports(batch));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(BATCH_THREADS * BATCH_ITERATIONS, productAmount(firstId));
+        assertEquals(BATCH_THREADS * BATCH_ITERATIONS, productAmount(secondId));
+    }
+
+    @Test
+    void reconcileHarvestProgressOnlyRaisesTotalsOfToday() {
+        LocalDate today = LocalDate.now();
+        UUID user = createUser(unique("worker") + "@farm.ru", Role.USER);
+        UUID behind = createProduct(unique("product"), Measure.KILOGRAM);
+        UUID ahead = createProduct(unique("product"), Measure.KILOGRAM);
+        for (UUID product : List.of(behind, ahead)) {
+            createReport(user, product, today, 4);
+            createReport(user, product, today, 6);
+        }
+        insertHarvestProgress(behind, today, 4);
+        insertHarvestProgress(ahead, today, 15);
+        insertHarvestProgress(behind, today.minusDays(1), 7);
+
+        reportService.reconcileHarvestProgress();
+
+        assertEquals(10, harvestProgress(behind, today));
+        assertEquals(15, harvestProgress(ahead, today));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from _harvest_progress where product_id = ? and date < ?",
+                Integer.class, behind, today));
+    }
+
+    @Test
+    void reconcileHarvestProgressKeepsUncommittedReport() throws Exception {
+        LocalDate today = LocalDate.now();
+        String product = unique("product");
+        UUID productId = createProduct(product, Measure.KILOGRAM);
+        UUID user = createUser(unique("worker") + "@farm.ru", Role.USER);
+        runAs(user, () -> reportService.createReport(report(product, 5)));
+        CountDownLatch reported = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> report = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                runAs(user, () -> reportService.createReport(report(product, 3)));
+                reported.countDown();
+                await(commit);
+            }));
+            await(reported);
+            Future<?> reconciliation = executor.submit(() -> reportService.reconcileHarvestProgress());
+            awaitLockWait();
+            commit.countDown();
+            report.get();
+            reconciliation.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(8, harvestProgress(productId, today));
+    }
+
+    private void insertHarvestProgress(UUID product, LocalDate date, int amount) {
+        jdbcTemplate.update("insert into _harvest_progress " +
+                        "(id, created_by, created_date, last_modified_date, date, amount, product_id) " +
+                        "values (?, 'test', current_date, current_date, ?, ?, ?)",
+                UUID.randomUUID(), date, amount, product);
+    }
+
+    private static ReportDto report(String product, int amount) {
+        return new ReportDto(product, amount, null, null, null);
+    }
+
+    private int productAmount(UUID product) {
+        return jdbcTemplate.queryForObject("select amount from _product where id = ?", Integer.class, product);
+    }
+
+    private int harvestProgress(UUID product, LocalDate date) {
+        return jdbcTemplate.queryForObject("select amount from _harvest_progress where product_id = ? and date = ?",
+                Integer.class, product, date);
+    }
+
+    private List<Integer> dailyReport(UUID user, UUID product, LocalDate date) {
+        return jdbcTemplate.queryForObject("select amount, report_count from _daily_report " +
+                        "where user_id = ? and product_id = ? and date = ?",
+                (resultSet, row) -> List.of(resultSet.getInt(1), resultSet.getInt(2)), user, product, date);
+    }
+
+    private int reportCount(UUID user) {
+        return jdbcTemplate.queryForObject("select count(*) from _report where user_id = ?", Integer.class, user);
+    }
+}
@@ -0,0 +1,44 @@
+package com.raymundo.farmtrack.util.cache;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the health of the listening connection of {@link CacheInvalidator}.
+ *
+ * @author RaymundoZ
+ */
+class CacheInvalidatorTest extends IntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 30000;
+    private static final long POLL_MILLIS = 50;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Test
+    void listenerReconnectsAfterConnectionIsLost() throws Exception {
+        awaitStatus(Status.UP);
+
+        int terminated = jdbcTemplate.queryForObject("select count(pg_terminate_backend(pid)) from pg_stat_activity " +
+                "where pid <> pg_backend_pid() and query like 'listen %'", Integer.class);
+
+        assertTrue(terminated > 0);
+        awaitStatus(Status.DOWN);
+        assertNotNull(cacheInvalidator.health().getDetails().get("error"));
+        awaitStatus(Status.UP);
+    }
+
+    private void awaitStatus(Status status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!cacheInvalidator.health().getStatus().equals(status) && System.currentTimeMillis() < deadline)
+            Thread.sleep(POLL_MILLIS);
+        assertEquals(status, cacheInvalidator.health().getStatus());
+    }
+}
@@ -0,0 +1,49 @@
+package com.raymundo.farmtrack.util.metrics;
+
+import com.raymundo.farmtrack.IntegrationTest;
+import com.raymundo.farmtrack.util.enumeration.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests of the requests recorded by {@link StatementMetricsFilter}.
+ *
+ * @author RaymundoZ
+ */
+class StatementMetricsFilterTest extends IntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void asyncRequestIsNotRecorded() throws Exception {
+        Cookie[] cookies = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        String user = objectMapper.writeValueAsString(Map.of(
+                "email", unique("worker") + "@farm.ru",
+                "password", PASSWORD,
+                "name", "Name",
+                "surname", "Surname",
+                "patronymic", "Patronymic",
+                "role", Role.USER.toString()
+        ));
+
+        MvcResult result = mockMvc.perform(post("/auth/register").cookie(cookies).contentType(MediaType.APPLICATION_JSON).content(user))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isCreated());
+
+        assertNull(meterRegistry.find("http.request.statements").tag(MetricTags.ENDPOINT, "POST /auth/register").summary());
+    }
+}